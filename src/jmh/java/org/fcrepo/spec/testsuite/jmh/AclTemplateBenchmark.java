@@ -0,0 +1,73 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code AbstractTest.filterFileAndConvertToString}, which reads an ACL template from the classpath
+ * and fills in its parameters each time a WebAC test writes an ACL.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AclTemplateBenchmark {
+
+    private Fixtures.AuthzTest test;
+
+    private final Map<String, String> params = new HashMap<>();
+
+    /**
+     * Create the test class and the template parameters
+     */
+    @Setup
+    public void setup() {
+        Fixtures.initializeParameters();
+        test = new Fixtures.AuthzTest();
+        params.put("resource", "http://localhost:8080/rest/testsuitecontainer/3d1f7a8e-5b2c-4d0e-9f6a");
+        params.put("user", "http://example.com/user/permissionless#me");
+    }
+
+    /**
+     * Fill in the template of a user's read-only authorization
+     *
+     * @return the ACL
+     */
+    @Benchmark
+    public String userReadOnly() {
+        return test.acl("user-read-only.ttl", params);
+    }
+}
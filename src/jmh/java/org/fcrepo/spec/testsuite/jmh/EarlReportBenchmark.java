@@ -0,0 +1,129 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.fcrepo.spec.testsuite.TestInfo;
+import org.fcrepo.spec.testsuite.report.EarlReporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.ITestResult;
+
+/**
+ * Measures building the EARL report: the assertion and result resources the EARL reporter writes, and flushes, for
+ * each passed or failed test.  The report is written to a temporary directory which is replaced each iteration.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EarlReportBenchmark {
+
+    private ITestResult passed;
+
+    private ITestResult failed;
+
+    private Reporter reporter;
+
+    private Path directory;
+
+    /**
+     * Register the tests whose results are reported
+     */
+    @Setup
+    public void setup() {
+        new TestInfo("3.1-A", getClass(), "passingTest", "A test which passes",
+                     "https://fcrepo.github.io/fcrepo-specification/#http-get");
+        new TestInfo("3.1-B", getClass(), "failingTest", "A test which fails",
+                     "https://fcrepo.github.io/fcrepo-specification/#http-get");
+        passed = Fixtures.testResult("passingTest", "MUST", null);
+        failed = Fixtures.testResult("failingTest", "MUST", new AssertionError("expected [200] but found [404]"));
+    }
+
+    /**
+     * Start a new report
+     *
+     * @throws IOException if the report cannot be created
+     */
+    @Setup(Level.Iteration)
+    public void openReport() throws IOException {
+        directory = Files.createTempDirectory("earl");
+        reporter = new Reporter();
+        reporter.open(directory.toString());
+    }
+
+    /**
+     * Close and delete the report
+     *
+     * @throws IOException if the report cannot be closed
+     */
+    @TearDown(Level.Iteration)
+    public void closeReport() throws IOException {
+        reporter.close();
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    /**
+     * Report a passed test
+     */
+    @Benchmark
+    public void passedTest() {
+        reporter.onTestSuccess(passed);
+    }
+
+    /**
+     * Report a failed test, with its stack trace
+     */
+    @Benchmark
+    public void failedTest() {
+        reporter.onTestFailure(failed);
+    }
+
+    /**
+     * Opens and closes the report file itself, rather than when a TestNG suite starts and finishes
+     */
+    private static final class Reporter extends EarlReporter {
+
+        void open(final String dir) throws IOException {
+            createWriter(dir);
+        }
+
+        void close() throws IOException {
+            endWriter();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.jmh;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.jena.rdf.model.Statement;
+import org.fcrepo.spec.testsuite.AbstractTest;
+import org.fcrepo.spec.testsuite.TestParameters;
+import org.fcrepo.spec.testsuite.authz.AbstractAuthzTest;
+import org.fcrepo.spec.testsuite.versioning.AbstractVersioningTest;
+import org.hamcrest.Matcher;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * What the benchmarks need to call suite code outside a TestNG run: test classes which expose the protected helpers
+ * being measured, and stand-in TestNG results.
+ *
+ * @author agent
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Initialize empty test parameters, which the test class constructors read
+     */
+    static synchronized void initializeParameters() {
+        if (TestParameters.get() == null) {
+            TestParameters.initialize(Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Create a result for a test method, as TestNG reports it to the reporters.  The method has a single group.
+     *
+     * @param methodName the test method name, which must have a registered TestInfo
+     * @param group the requirement level
+     * @param thrown what the test threw, or null if it passed
+     * @return the result
+     */
+    static ITestResult testResult(final String methodName, final String group, final Throwable thrown) {
+        final ITestNGMethod method = stub(ITestNGMethod.class, (name, args) -> {
+            switch (name) {
+                case "getMethodName":
+                    return methodName;
+                case "getGroups":
+                    return new String[] {group};
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        });
+        return stub(ITestResult.class, (name, args) -> {
+            switch (name) {
+                case "getMethod":
+                    return method;
+                case "getThrowable":
+                    return thrown;
+                case "getName":
+                    return methodName;
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    /**
+     * Implement an interface with a function of the method name and arguments, with identity equality
+     */
+    private static <T> T stub(final Class<T> type, final Answer answer) {
+        final Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+            (self, method, args) -> {
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(self);
+                    case "equals":
+                        return self == args[0];
+                    case "toString":
+                        return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(self));
+                    default:
+                        return answer.answer(method.getName(), args);
+                }
+            });
+        return type.cast(proxy);
+    }
+
+    private interface Answer {
+        Object answer(String name, Object[] args);
+    }
+
+    /**
+     * Exposes the triple matcher of AbstractTest
+     */
+    static final class MatcherTest extends AbstractTest {
+
+        Matcher<Object> tripleMatcher(final Statement triple) {
+            return new TripleMatcher<>(triple);
+        }
+    }
+
+    /**
+     * Exposes the N-Triples comparison of AbstractVersioningTest
+     */
+    static final class VersioningTest extends AbstractVersioningTest {
+
+        void assertNTriplesEqual(final String a, final String b) {
+            confirmResponseBodyNTriplesAreEqual(a, b);
+        }
+    }
+
+    /**
+     * Exposes the ACL templating used by the WebAC tests
+     */
+    static final class AuthzTest extends AbstractAuthzTest {
+
+        String acl(final String fileName, final Map<String, String> params) {
+            return filterFileAndConvertToString(fileName, params);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.jmh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.Link;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.apache.http.message.BasicHeaderValueParser;
+import org.fcrepo.spec.testsuite.LinkHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares looking up links by relation through {@link LinkHeaders} with the general purpose path the suite used
+ * before it: every header through BasicHeaderValueParser, every value through Link.valueOf, then a filter on
+ * getRels().  Each operation makes the lookups a test typically makes of one response (its types, acl, timemap and
+ * describedby links) against the Link headers of a Fedora response carrying 8 or 15 link values.
+ * <p>
+ * "parse" parses the headers afresh for each operation; "cached" asks again about a response already parsed, as
+ * the second and later assertions on a response do.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkHeaderBenchmark {
+
+    private static final String BASE = "http://localhost:8080/rest/testsuitecontainer/3d1f7a8e-5b2c-4d0e-9f6a";
+
+    private static final String LDP = "http://www.w3.org/ns/ldp#";
+
+    /**
+     * Link values of a versioned LDP-NR as Fedora sends them; the first 8 are the common ones
+     */
+    private static final String[] LINK_VALUES = {
+        "<" + LDP + "Resource>; rel=\"type\"",
+        "<" + LDP + "NonRDFSource>; rel=\"type\"",
+        "<" + BASE + "/fcr:acl>; rel=\"acl\"",
+        "<" + BASE + "/fcr:metadata>; rel=\"describedby\"",
+        "<http://localhost:8080/static/constraints/NonRDFSourceConstraints.rdf>; rel=\"" + LDP + "constrainedBy\"",
+        "<" + BASE + "/fcr:versions>; rel=\"timemap\"",
+        "<" + BASE + ">; rel=\"original timegate\"",
+        "<http://mementoweb.org/ns#OriginalResource>; rel=\"type\"",
+        "<http://mementoweb.org/ns#TimeGate>; rel=\"type\"",
+        "<" + BASE + "/fcr:tx>; rel=\"http://fedora.info/definitions/v4/repository#hasTransactionProvider\"",
+        "<http://localhost:61616/fedora>; rel=\"hub\"",
+        "<" + BASE + ">; rel=\"self\"",
+        "<" + BASE + "/fcr:fixity>; rel=\"http://www.loc.gov/premis/rdf/v1#hasFixity\"",
+        "<http://localhost:8080/rest/testsuitecontainer/3d1f7a8e>; rel=\"up\"; title=\"parent container\"",
+        "<" + BASE + "/fcr:metadata>; rel=\"edit-media\"; type=\"text/turtle\"",
+    };
+
+    private static final String[] RELS = {"type", "acl", "timemap", "describedby"};
+
+    /**
+     * The number of link values in the response
+     */
+    @Param({"8", "15"})
+    public int linkCount;
+
+    private Response response;
+
+    private List<String> headerValues;
+
+    /**
+     * Build the response and parse its links once, for the cached lookups
+     */
+    @Setup
+    public void setup() {
+        // Fedora sends the type links in one header and each of the others in its own
+        final List<Header> headers = new ArrayList<>();
+        headers.add(new Header("Link", LINK_VALUES[0] + ", " + LINK_VALUES[1]));
+        for (int i = 2; i < linkCount; i++) {
+            headers.add(new Header("Link", LINK_VALUES[i]));
+        }
+        headerValues = new ArrayList<>();
+        headers.forEach(h -> headerValues.add(h.getValue()));
+        response = new ResponseBuilder().setStatusCode(200).setStatusLine("HTTP/1.1 200 OK")
+                                        .setHeaders(new Headers(headers)).setBody(new byte[0]).build();
+        LinkHeaders.of(response);
+    }
+
+    /**
+     * The lookups as the suite made them before LinkHeaders
+     *
+     * @param blackhole consumes the link targets
+     */
+    @Benchmark
+    public void generalParser(final Blackhole blackhole) {
+        for (final String rel : RELS) {
+            headerValues.stream()
+                .flatMap(header -> Arrays.stream(BasicHeaderValueParser.parseElements(header, null))
+                        .map(element -> Link.valueOf(element.toString())))
+                .filter(link -> link.getRels().stream().anyMatch(r -> r.equalsIgnoreCase(rel)))
+                .map(Link::getUri)
+                .forEach(blackhole::consume);
+        }
+    }
+
+    /**
+     * The lookups on a response seen for the first time
+     *
+     * @param blackhole consumes the link targets
+     */
+    @Benchmark
+    public void linkHeadersParse(final Blackhole blackhole) {
+        final LinkHeaders links = LinkHeaders.parse(headerValues.stream());
+        for (final String rel : RELS) {
+            links.uris(rel).forEach(blackhole::consume);
+        }
+    }
+
+    /**
+     * The lookups on a response already parsed
+     *
+     * @param blackhole consumes the link targets
+     */
+    @Benchmark
+    public void linkHeadersCached(final Blackhole blackhole) {
+        for (final String rel : RELS) {
+            LinkHeaders.of(response).uris(rel).forEach(blackhole::consume);
+        }
+    }
+}
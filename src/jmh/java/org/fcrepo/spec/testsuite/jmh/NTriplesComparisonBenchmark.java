@@ -0,0 +1,89 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.jmh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code AbstractVersioningTest.confirmResponseBodyNTriplesAreEqual}, which the versioning tests use to
+ * compare a memento with its original, on two N-Triples bodies of 100 or 10000 triples in different orders.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NTriplesComparisonBenchmark {
+
+    private static final String SUBJECT = "<http://localhost:8080/rest/testsuitecontainer/versioned>";
+
+    /**
+     * The number of triples in each body
+     */
+    @Param({"100", "10000"})
+    public int triples;
+
+    private Fixtures.VersioningTest test;
+
+    private String original;
+
+    private String memento;
+
+    /**
+     * Build the two bodies, the second a shuffled copy of the first
+     */
+    @Setup
+    public void setup() {
+        Fixtures.initializeParameters();
+        test = new Fixtures.VersioningTest();
+        final List<String> lines = new ArrayList<>(triples);
+        for (int i = 0; i < triples; i++) {
+            lines.add(SUBJECT + " <http://purl.org/dc/elements/1.1/description> \"value " + i + "\" .");
+        }
+        original = String.join("\n", lines) + "\n";
+        Collections.shuffle(lines, new Random(1));
+        memento = String.join("\n", lines) + "\n";
+    }
+
+    /**
+     * Compare the bodies
+     */
+    @Benchmark
+    public void compare() {
+        test.assertNTriplesEqual(original, memento);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.fcrepo.spec.testsuite.TestInfo;
+import org.fcrepo.spec.testsuite.TestSuiteGlobals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.IResultMap;
+import org.testng.ITestResult;
+import org.testng.internal.ResultMap;
+
+/**
+ * Measures {@code TestSuiteGlobals.orderTestsResults}, which the HTML reporter uses to sort the results of a run by
+ * test id, for about the suite's own number of tests and for four times as many.  One in ten tests fails and one in
+ * twenty is skipped; failures carry a stack trace, which is shortened for the report.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestResultsBenchmark {
+
+    /**
+     * The number of test results
+     */
+    @Param({"250", "1000"})
+    public int tests;
+
+    private final IResultMap passed = new ResultMap();
+
+    private final IResultMap skipped = new ResultMap();
+
+    private final IResultMap failed = new ResultMap();
+
+    /**
+     * Register a TestInfo for each test and file its result
+     */
+    @Setup
+    public void setup() {
+        for (int i = 0; i < tests; i++) {
+            final String method = "test" + i;
+            new TestInfo(String.format("%d.%d-%c", i / 100, i % 100 / 10, 'A' + i % 10), getClass(), method,
+                         "Description of test " + i, "https://fcrepo.github.io/fcrepo-specification/#test-" + i);
+            final ITestResult result;
+            if (i % 10 == 3) {
+                result = Fixtures.testResult(method, "MUST", new AssertionError("expected [200] but found [404]"));
+                failed.addResult(result, result.getMethod());
+            } else if (i % 20 == 7) {
+                result = Fixtures.testResult(method, "MAY", null);
+                skipped.addResult(result, result.getMethod());
+            } else {
+                result = Fixtures.testResult(method, "SHOULD", null);
+                passed.addResult(result, result.getMethod());
+            }
+        }
+    }
+
+    /**
+     * Order the results
+     *
+     * @return the ordered results
+     */
+    @Benchmark
+    public Map<String, String[]> order() {
+        return TestSuiteGlobals.orderTestsResults(passed, skipped, failed);
+    }
+}
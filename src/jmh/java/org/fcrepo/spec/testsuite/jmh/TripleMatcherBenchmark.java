@@ -0,0 +1,108 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code AbstractTest.TripleMatcher} on the Turtle body of a container with 10 or 1000 children.
+ * "newBody" matches a body the suite has not seen, so it is parsed; "sameBody" matches one already parsed, as the
+ * second and later triple assertions on a response do.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TripleMatcherBenchmark {
+
+    private static final String CONTAINER = "http://localhost:8080/rest/testsuitecontainer/container";
+
+    /**
+     * The number of children the container lists
+     */
+    @Param({"10", "1000"})
+    public int children;
+
+    private String body;
+
+    private Matcher<Object> matcher;
+
+    private long serial;
+
+    /**
+     * Build the container body and a matcher for one of its ldp:contains triples
+     */
+    @Setup
+    public void setup() {
+        Fixtures.initializeParameters();
+        final StringBuilder turtle = new StringBuilder()
+            .append("@prefix ldp: <http://www.w3.org/ns/ldp#> .\n")
+            .append("@prefix dc: <http://purl.org/dc/elements/1.1/> .\n")
+            .append("<").append(CONTAINER).append("> a ldp:BasicContainer , ldp:Container , ldp:RDFSource ;\n")
+            .append("    dc:title \"container\" ;\n")
+            .append("    ldp:contains ");
+        for (int i = 0; i < children; i++) {
+            turtle.append(i == 0 ? "" : " ,\n        ").append("<").append(CONTAINER).append("/child-").append(i)
+                  .append(">");
+        }
+        body = turtle.append(" .\n").toString();
+
+        matcher = new Fixtures.MatcherTest().tripleMatcher(ResourceFactory.createStatement(
+            ResourceFactory.createResource(CONTAINER),
+            ResourceFactory.createProperty("http://www.w3.org/ns/ldp#contains"),
+            ResourceFactory.createResource(CONTAINER + "/child-" + children / 2)));
+    }
+
+    /**
+     * Match a body which has not been parsed before
+     *
+     * @return whether it matched
+     */
+    @Benchmark
+    public boolean newBody() {
+        return matcher.matches(body + "# " + serial++ + "\n");
+    }
+
+    /**
+     * Match a body which has been parsed before
+     *
+     * @return whether it matched
+     */
+    @Benchmark
+    public boolean sameBody() {
+        return matcher.matches(body);
+    }
+}
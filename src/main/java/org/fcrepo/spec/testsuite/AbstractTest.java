@@ -28,13 +28,15 @@ import static org.testng.AssertJUnit.fail;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
-import java.io.StringReader;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -49,16 +51,20 @@ import io.restassured.http.Headers;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.apache.commons.io.IOUtils;
-import org.apache.http.message.BasicHeaderValueParser;
 import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Statement;
+import org.fcrepo.spec.testsuite.binary.DigestVerifier;
+import org.fcrepo.spec.testsuite.cache.ResponseCache;
+import org.fcrepo.spec.testsuite.metrics.RequestMetrics;
+import org.fcrepo.spec.testsuite.metrics.RequestTimingFilter;
+import org.fcrepo.spec.testsuite.metrics.TestRequestStats;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.testng.Assert;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 
@@ -71,7 +77,11 @@ public class AbstractTest {
 
     protected static final String SPEC_BASE_URL = Constants.SPEC_BASE_URL;
 
-    protected PrintStream ps;
+    private final TestSectionStream testSection = new TestSectionStream();
+
+    protected final PrintStream ps = new PrintStream(testSection);
+
+    private final RequestTimingFilter timingFilter = new RequestTimingFilter(getClass());
 
     private String rootControllerUserWebId;
     protected String permissionlessUserWebId;
@@ -87,12 +97,20 @@ public class AbstractTest {
         this.rootUri = TestParameters.get().getRootUrl();
     }
 
+    /**
+     * @return the stream behind {@link #ps}, so that work handed to other threads can log into the test's section
+     */
+    TestSectionStream getTestSection() {
+        return testSection;
+    }
+
     /**
      * setup
      */
     @BeforeMethod(alwaysRun = true)
     public void setup() {
-        ps = TestSuiteGlobals.logFile();
+        testSection.begin();
+        RequestMetrics.get().beginTest();
         ps.append("************************************************\n");
         ps.append("**** Test Start ********************************\n");
         ps.append("************************************************\n");
@@ -100,13 +118,18 @@ public class AbstractTest {
 
     /**
      * tearDown
+     *
+     * @param result the result of the test, to which its request stats are attached
      */
     @AfterMethod(alwaysRun = true)
-    public void tearDown() {
+    public void tearDown(final ITestResult result) {
+        final TestInfo info = TestInfo.getByMethodName(result.getMethod().getMethodName());
+        result.setAttribute(TestRequestStats.ATTRIBUTE,
+                            RequestMetrics.get().endTest(info == null ? null : info.getId()));
         ps.append("\n************************************************");
         ps.append("\n**** Test End **********************************");
-        ps.append("\n************************************************\n\n\n\n").close();
-
+        ps.append("\n************************************************\n\n\n\n").flush();
+        TestSuiteGlobals.appendToLog(testSection.end());
     }
 
     /**
@@ -165,6 +188,49 @@ public class AbstractTest {
         return info;
     }
 
+    /**
+     * Lease a shared fixture for a test which only reads it.  The test must not modify the fixture or create
+     * anything within it.
+     *
+     * @param fixture the type of fixture
+     * @return the URI of the fixture
+     */
+    protected String leaseReadOnlyFixture(final FixturePool.Fixture fixture) {
+        final String location = FixturePool.get().leaseReadOnly(fixture);
+        ps.append("Using shared fixture: ").append(location).append("\n");
+        return location;
+    }
+
+    /**
+     * Create a tree of resources, making requests in parallel.  Every resource is registered for cleanup.
+     *
+     * @param parentUri the URI of the container in which to create the root of the tree
+     * @param spec the shape of the tree
+     * @return the tree
+     */
+    protected ResourceTree provisionTree(final String parentUri, final TreeSpec spec) {
+        final ResourceTree tree = new TreeProvisioner(this, spec).provision(parentUri, "tree");
+        ps.append(String.format(Locale.ROOT, "Provisioned %d resources under %s in %.3f s\n", tree.size(),
+                                tree.getRoot(), tree.getElapsedNanos() / 1e9));
+        return tree;
+    }
+
+    /**
+     * Create the levels of a tree below an existing container, making requests in parallel.  Calling this again with
+     * a later firstChild grows the same container.  Every new resource is registered for cleanup.
+     *
+     * @param containerUri the URI of the container, which stands as the root of the tree
+     * @param spec the shape of the tree; the root's interaction model is ignored
+     * @param firstChild the number used in the slug of the first new child
+     * @return the tree of new resources
+     */
+    protected ResourceTree populateContainer(final String containerUri, final TreeSpec spec, final int firstChild) {
+        final ResourceTree tree = new TreeProvisioner(this, spec).populate(containerUri, firstChild);
+        ps.append(String.format(Locale.ROOT, "Provisioned %d resources under %s in %.3f s\n", tree.size() - 1,
+                                tree.getRoot(), tree.getElapsedNanos() / 1e9));
+        return tree;
+    }
+
     protected Response createBasicContainer(final String uri, final TestInfo info) {
         return createBasicContainer(uri, info.getId());
     }
@@ -271,6 +337,22 @@ public class AbstractTest {
         return response;
     }
 
+    /**
+     * POST a body read from a stream as it is sent, with chunked transfer encoding, so that it need not fit in memory
+     *
+     * @param uri the container
+     * @param headers the request headers
+     * @param body the body, which is read to its end
+     * @return the response, verified to be 201
+     */
+    protected Response doPost(final String uri, final Headers headers, final InputStream body) {
+        final Response response = registerTestResource(createRequest().headers(headers).body(body).when().post(uri));
+
+        response.then().statusCode(201);
+
+        return response;
+    }
+
     protected Response doPost(final String uri, final Headers headers, final String body) {
         return doPost(uri, headers, body, true);
     }
@@ -300,7 +382,11 @@ public class AbstractTest {
         if (body != null) {
             req.body(body);
         }
-        return registerTestResource(req.when().put(uri));
+        final Response response = registerTestResource(req.when().put(uri));
+        // A PUT may change the interaction model, and with it the links.  Forget them only once the response has
+        // arrived, so that a lookup made while the request was in flight is not remembered.
+        LinkDiscovery.forget(uri);
+        return response;
     }
 
     protected Response doPutUnverified(final String uri, final Headers headers) {
@@ -351,11 +437,36 @@ public class AbstractTest {
     }
 
     private RequestSpecification createRequest(final boolean admin) {
-        return createRequestAuthOnly(admin)
+        return createRequest(admin, true);
+    }
+
+    /**
+     * Create a request, passing it through the response cache if one is enabled.  Requests whose response is not
+     * handed back in full, such as streamed GETs, must not be cached.
+     */
+    private RequestSpecification createRequest(final boolean admin, final boolean cacheable) {
+        final RequestSpecification req = createRequestAuthOnly(admin)
             .config(RestAssured.config().redirect(redirectConfig().followRedirects(false))
                                .logConfig(new LogConfig().defaultStream(ps)
-                                                         .enableLoggingOfRequestAndResponseIfValidationFails()))
-            .log().all();
+                                                         .enableLoggingOfRequestAndResponseIfValidationFails()));
+        if (logAllRequests()) {
+            req.log().all();
+        }
+        final ResponseCache cache = ResponseCache.get();
+        if (cacheable && cache != null) {
+            req.filter(cache);
+        }
+        return req.filter(timingFilter);
+    }
+
+    /**
+     * Whether every request is written to the execution log, rather than only those whose response fails
+     * validation.  Load generation turns this off, since logging each request would dominate the run.
+     *
+     * @return true to log every request
+     */
+    protected boolean logAllRequests() {
+        return true;
     }
 
     private RequestSpecification createRequest(final String slug, final String contentType) {
@@ -394,6 +505,61 @@ public class AbstractTest {
         return doGet(uri, true);
     }
 
+    /**
+     * GET a resource, copying the body to a sink as it arrives rather than holding it in memory
+     *
+     * @param uri the resource
+     * @param sink where the body is written
+     * @param headers any additional request headers
+     * @return the response, with its status and headers but an empty body
+     */
+    protected Response doGetUnverified(final String uri, final OutputStream sink, final Header... headers) {
+        final RequestSpecification req = createRequest(true, false);
+        for (final Header header : headers) {
+            req.header(header);
+        }
+        return req.filter(new StreamingBodyFilter(sink)).when().get(uri);
+    }
+
+    /**
+     * GET a resource, copying the body to a sink as it arrives rather than holding it in memory
+     *
+     * @param uri the resource
+     * @param sink where the body is written
+     * @param headers any additional request headers
+     * @return the response, verified to be 200, with an empty body
+     */
+    protected Response doGet(final String uri, final OutputStream sink, final Header... headers) {
+        final Response response = doGetUnverified(uri, sink, headers);
+
+        response.then().statusCode(200);
+
+        return response;
+    }
+
+    /**
+     * GET an LDP-NR with a Want-Digest header, compute the requested digests of the body, and check that the Digest
+     * header of the response matches the content
+     *
+     * @param uri the LDP-NR
+     * @param wantDigest the Want-Digest header value
+     * @return the response, verified to be 200
+     */
+    protected Response doGetVerifyingDigest(final String uri, final String wantDigest) {
+        final DigestVerifier verifier = DigestVerifier.forWantDigest(wantDigest);
+        final Response response = doGet(uri, new Header("Want-Digest", wantDigest));
+        try (InputStream body = response.asInputStream()) {
+            IOUtils.copy(body, verifier);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        final String mismatch = verifier.getMismatch(response.getHeaders());
+        if (mismatch != null) {
+            fail(mismatch);
+        }
+        return response;
+    }
+
     protected Response doGetUnverified(final String uri, final Header header) {
         return createRequest().header(header).when().get(uri);
     }
@@ -407,7 +573,9 @@ public class AbstractTest {
     }
 
     protected Response doDeleteUnverified(final String uri, final boolean admin) {
-        return createRequest(admin).when().delete(uri);
+        final Response response = createRequest(admin).when().delete(uri);
+        LinkDiscovery.forget(uri);
+        return response;
     }
 
     protected Response doDelete(final String uri) {
@@ -465,7 +633,10 @@ public class AbstractTest {
         if (body != null) {
             req.body(body);
         }
-        return req.when().patch(uri);
+        final Response response = req.when().patch(uri);
+        // A PATCH may change the links of a resource as well, e.g. by adding an rdf:type
+        LinkDiscovery.forget(uri);
+        return response;
     }
 
     protected Response doPatchUnverified(final String uri) {
@@ -496,8 +667,7 @@ public class AbstractTest {
 
         @Override
         public boolean matches(final Object item) {
-            final Model model = ModelFactory.createDefaultModel();
-            model.read(new StringReader(item.toString()), "", "TURTLE");
+            final Model model = ParsedModelCache.parseTurtle(item.toString());
 
             return model.contains(triple) == expectMatch;
         }
@@ -532,17 +702,39 @@ public class AbstractTest {
     }
 
     protected Stream<Link> getLinksOfRelType(final Response response, final String relType) {
-        return getHeaders(response, "Link")
-            // Link header may include multiple, comma-separated link values
-            .flatMap(header -> Arrays.stream(BasicHeaderValueParser.parseElements(header.getValue(), null))
-                    .map(linkElement -> Link.valueOf(linkElement.toString())))
-            // Each link value may contain multiple "rel" values
-            .filter(link -> link.getRels().stream().anyMatch(rel -> rel.equalsIgnoreCase(relType)));
+        return LinkHeaders.of(response).links(relType);
     }
 
     protected Stream<URI> getLinksOfRelTypeAsUris(final Response response, final String relType) {
-        return getLinksOfRelType(response, relType)
-            .map(link -> link.getUri());
+        return LinkHeaders.of(response).uris(relType);
+    }
+
+    /**
+     * Find the targets of the links of a given relation from a resource, using a HEAD request (or a GET if HEAD is
+     * not supported) the first time the resource is asked about and remembered links after that.
+     *
+     * @param uri the resource
+     * @param relType the link relation
+     * @return the link targets
+     */
+    protected Stream<URI> discoverLinks(final String uri, final String relType) {
+        return LinkDiscovery.discover(uri, relType, u -> doHeadUnverified(u, true), this::doGet);
+    }
+
+    protected String getAclLocation(final String resourceUri) {
+        return discoverLinks(resourceUri, "acl").findFirst().map(URI::toString).orElseThrow(
+            () -> new RuntimeException("No link of type rel=\"acl\" found on resource: " + resourceUri));
+    }
+
+    protected String createAclForResource(final String resourceUri, final String aclFileName,
+                                          final Map<String, String> aclParams) {
+        //get acl handle
+        final String aclUri = getAclLocation(resourceUri);
+        //create read acl for user role
+        final Response response = doPutUnverified(aclUri, new Headers(new Header("Content-Type", "text/turtle")),
+                                                  filterFileAndConvertToString(aclFileName, aclParams));
+        response.then().statusCode(successRange());
+        return aclUri;
     }
 
     protected Stream<Header> getHeaders(final Response response, final String headerName) {
@@ -596,10 +788,7 @@ public class AbstractTest {
      * @return the uri of the describing LDP-RS or null
      */
     protected String getLdpNrDescription(final String ldpNrUri) {
-        final Response response = doHead(ldpNrUri);
-        return getLinksOfRelType(response, "describedby").map(Link::getUri)
-                .map(URI::toString)
-                .findFirst().orElse(null);
+        return discoverLinks(ldpNrUri, "describedby").map(URI::toString).findFirst().orElse(null);
     }
 
     protected String fileToString(final String resourcePath) {
@@ -610,6 +799,14 @@ public class AbstractTest {
         }
     }
 
+    protected String filterFileAndConvertToString(final String fileName, final Map<String, String> params) {
+        String str = fileToString("/acls/" + fileName);
+        for (String key : params.keySet()) {
+            str = str.replace("${" + key + "}", params.get(key));
+        }
+        return str;
+    }
+
     protected String fileToString(final File file) {
         try (InputStream is = new FileInputStream(file)) {
             return IOUtils.toString(is, "UTF-8");
@@ -18,24 +18,58 @@
 package org.fcrepo.spec.testsuite;
 
 import static org.fcrepo.spec.testsuite.TestParameters.AUTHENTICATOR_CLASS_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.AUTH_TOKEN_REFRESH_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.AUTH_TOKEN_TTL_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.BENCHMARK_ITERATIONS_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.BENCHMARK_WARMUP_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.BINARY_SAMPLES_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.BINARY_SIZES_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.BROKER_URL_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.CLEANUP_RETRIES_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.CLEANUP_THREADS_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.CONFIG_FILE_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.EVENT_OPERATIONS_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.HTTP_CACHE_MAX_AGE_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.HTTP_CACHE_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.HTTP_IDLE_TIMEOUT_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.HTTP_KEEP_ALIVE_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.HTTP_MAX_CONNECTIONS_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.HTTP_MAX_CONNECTIONS_PER_ROUTE_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.OUTPUT_DIRECTORY_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.CONSTRAINT_ERROR_GENERATOR_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.IMPLEMENTATION_NAME_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.IMPLEMENTATION_VERSION_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.IMPLEMENTATION_NOTES_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.LOAD_CONCURRENCY_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.LOAD_DURATION_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.LOAD_MIX_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.LOAD_RATE_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.LOAD_RESOURCES_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.LOAD_WARMUP_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.MODE_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.PARALLEL_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.PERMISSIONLESS_USER_AUTH_HEADER;
 import static org.fcrepo.spec.testsuite.TestParameters.PERMISSIONLESS_USER_NAME_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.PERMISSIONLESS_USER_PASSWORD_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.PERMISSIONLESS_USER_WEBID_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.QUEUE_NAME_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.RANGE_CONCURRENCY_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.RANGE_LENGTH_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.RANGE_REQUESTS_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.RANGE_SIZE_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.ROOT_CONTROLLER_USER_AUTH_HEADER;
 import static org.fcrepo.spec.testsuite.TestParameters.ROOT_CONTROLLER_USER_NAME_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.ROOT_CONTROLLER_USER_PASSWORD_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.ROOT_CONTROLLER_USER_WEBID_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.ROOT_URL_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.SCALE_CONCURRENCY_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.SCALE_DEPTHS_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.SCALE_MODELS_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.SCALE_SAMPLES_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.SCALE_SIZES_PARAM;
+import static org.fcrepo.spec.testsuite.TestParameters.THREADS_PARAM;
 import static org.fcrepo.spec.testsuite.TestParameters.TOPIC_NAME_PARAM;
+import static org.fcrepo.spec.testsuite.benchmark.BenchmarkRunner.CONFORMANCE_MODE;
 import static org.testng.util.Strings.isNullOrEmpty;
 
 import java.io.File;
@@ -47,6 +81,7 @@ import java.io.InputStream;
 import java.io.PrintWriter;
 import java.net.URI;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -62,6 +97,10 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.fcrepo.spec.testsuite.authn.AuthenticatorResolver;
+import org.fcrepo.spec.testsuite.benchmark.BenchmarkRunner;
+import org.fcrepo.spec.testsuite.cache.ResponseCache;
+import org.fcrepo.spec.testsuite.compare.RunComparison;
+import org.fcrepo.spec.testsuite.metrics.RequestMetrics;
 import org.testng.TestNG;
 import org.testng.xml.SuiteXmlParser;
 import org.testng.xml.XmlSuite;
@@ -123,6 +162,39 @@ public class App {
         configArgs.put(IMPLEMENTATION_NAME_PARAM, false);
         configArgs.put(IMPLEMENTATION_VERSION_PARAM, false);
         configArgs.put(OUTPUT_DIRECTORY_PARAM, false);
+        configArgs.put(THREADS_PARAM, false);
+        configArgs.put(PARALLEL_PARAM, false);
+        configArgs.put(HTTP_MAX_CONNECTIONS_PARAM, false);
+        configArgs.put(HTTP_MAX_CONNECTIONS_PER_ROUTE_PARAM, false);
+        configArgs.put(HTTP_KEEP_ALIVE_PARAM, false);
+        configArgs.put(HTTP_IDLE_TIMEOUT_PARAM, false);
+        configArgs.put(HTTP_CACHE_PARAM, false);
+        configArgs.put(HTTP_CACHE_MAX_AGE_PARAM, false);
+        configArgs.put(CLEANUP_THREADS_PARAM, false);
+        configArgs.put(CLEANUP_RETRIES_PARAM, false);
+        configArgs.put(AUTH_TOKEN_REFRESH_PARAM, false);
+        configArgs.put(AUTH_TOKEN_TTL_PARAM, false);
+        configArgs.put(MODE_PARAM, false);
+        configArgs.put(BENCHMARK_ITERATIONS_PARAM, false);
+        configArgs.put(BENCHMARK_WARMUP_PARAM, false);
+        configArgs.put(EVENT_OPERATIONS_PARAM, false);
+        configArgs.put(LOAD_MIX_PARAM, false);
+        configArgs.put(LOAD_CONCURRENCY_PARAM, false);
+        configArgs.put(LOAD_RATE_PARAM, false);
+        configArgs.put(LOAD_DURATION_PARAM, false);
+        configArgs.put(LOAD_WARMUP_PARAM, false);
+        configArgs.put(LOAD_RESOURCES_PARAM, false);
+        configArgs.put(SCALE_SIZES_PARAM, false);
+        configArgs.put(SCALE_MODELS_PARAM, false);
+        configArgs.put(SCALE_SAMPLES_PARAM, false);
+        configArgs.put(SCALE_CONCURRENCY_PARAM, false);
+        configArgs.put(SCALE_DEPTHS_PARAM, false);
+        configArgs.put(BINARY_SIZES_PARAM, false);
+        configArgs.put(BINARY_SAMPLES_PARAM, false);
+        configArgs.put(RANGE_SIZE_PARAM, false);
+        configArgs.put(RANGE_LENGTH_PARAM, false);
+        configArgs.put(RANGE_CONCURRENCY_PARAM, false);
+        configArgs.put(RANGE_REQUESTS_PARAM, false);
     }
 
     /**
@@ -131,6 +203,11 @@ public class App {
      * @param args the command line arguments.
      */
     public static void main(final String[] args) {
+        if (args.length > 0 && args[0].equals(RunComparison.COMPARE_COMMAND)) {
+            System.exit(RunComparison.run(Arrays.copyOfRange(args, 1, args.length)));
+            return;
+        }
+
         final Options options = new Options();
         options.addOption(new Option("b", ROOT_URL_PARAM, true, "The root URL of the repository"));
         options.addOption(new Option("u", PERMISSIONLESS_USER_WEBID_PARAM, true,
@@ -190,6 +267,99 @@ public class App {
         options.addOption(
             new Option("v", IMPLEMENTATION_VERSION_PARAM, true,
                        "The version of the Fedora implementation being tested."));
+        options.addOption(new Option("T", THREADS_PARAM, true,
+                                     "Number of threads used to run tests in parallel (defaults to 1)."));
+        options.addOption(new Option("L", PARALLEL_PARAM, true,
+                                     "TestNG parallel mode used when " + THREADS_PARAM + " is greater than 1: " +
+                                     "[methods|classes|none] (defaults to \"classes\")."));
+        options.addOption(new Option(null, HTTP_MAX_CONNECTIONS_PARAM, true,
+                                     "Maximum number of pooled HTTP connections (defaults to 100)."));
+        options.addOption(new Option(null, HTTP_MAX_CONNECTIONS_PER_ROUTE_PARAM, true,
+                                     "Maximum number of pooled HTTP connections per host (defaults to 50)."));
+        options.addOption(new Option(null, HTTP_KEEP_ALIVE_PARAM, true,
+                                     "Seconds to keep an HTTP connection alive when the server does not specify " +
+                                     "(defaults to 30)."));
+        options.addOption(new Option(null, HTTP_IDLE_TIMEOUT_PARAM, true,
+                                     "Seconds an HTTP connection may be idle before it is closed (defaults to 30)."));
+        options.addOption(new Option(null, HTTP_CACHE_PARAM, true,
+                                     "Cache GET and HEAD responses on the client, revalidating them with ETags " +
+                                     "and invalidating them on writes: [true|false] (defaults to false)."));
+        options.addOption(new Option(null, HTTP_CACHE_MAX_AGE_PARAM, true,
+                                     "Seconds a cached response with no Cache-Control max-age or Expires is reused " +
+                                     "without revalidation (defaults to 0)."));
+        options.addOption(new Option(null, CLEANUP_THREADS_PARAM, true,
+                                     "Number of concurrent deletes used to clean up test resources when the test " +
+                                     "container cannot be deleted recursively (defaults to 8)."));
+        options.addOption(new Option(null, CLEANUP_RETRIES_PARAM, true,
+                                     "Number of times a failed cleanup delete is retried (defaults to 2)."));
+        options.addOption(new Option(null, AUTH_TOKEN_REFRESH_PARAM, true,
+                                     "Seconds before expiry that an authentication token is refreshed " +
+                                     "(defaults to 30)."));
+        options.addOption(new Option(null, AUTH_TOKEN_TTL_PARAM, true,
+                                     "Seconds that an authentication token which declares no expiry is reused, " +
+                                     "or 0 to create one for every request (defaults to 300)."));
+        options.addOption(new Option("m", MODE_PARAM, true,
+                                     "Run the conformance tests or a benchmark: [" + CONFORMANCE_MODE + "|" +
+                                     String.join("|", BenchmarkRunner.getModes()) + "] (defaults to \"" +
+                                     CONFORMANCE_MODE + "\")."));
+        options.addOption(new Option(null, BENCHMARK_ITERATIONS_PARAM, true,
+                                     "Number of measured iterations performed by a benchmark (defaults to 100)."));
+        options.addOption(new Option(null, BENCHMARK_WARMUP_PARAM, true,
+                                     "Number of unmeasured iterations performed by a benchmark before measuring " +
+                                     "(defaults to 10)."));
+        options.addOption(new Option(null, EVENT_OPERATIONS_PARAM, true,
+                                     "Operations measured by the event-latency benchmark, separated by ',': " +
+                                     "[create,update,delete] (defaults to all three)."));
+        options.addOption(new Option(null, LOAD_MIX_PARAM, true,
+                                     "Weighted operations issued by the load benchmark, separated by ',', from " +
+                                     "[get|head|post|put|patch|delete] (defaults to " +
+                                     "\"get=70,patch=10,post=10,delete=10\")."));
+        options.addOption(new Option(null, LOAD_CONCURRENCY_PARAM, true,
+                                     "Number of concurrent workers used by the load benchmark (defaults to 8)."));
+        options.addOption(new Option(null, LOAD_RATE_PARAM, true,
+                                     "Requests per second issued by the load benchmark, or 0 for as many as the " +
+                                     "workers can issue (defaults to 0)."));
+        options.addOption(new Option(null, LOAD_DURATION_PARAM, true,
+                                     "Seconds the load benchmark measures for (defaults to 60)."));
+        options.addOption(new Option(null, LOAD_WARMUP_PARAM, true,
+                                     "Seconds the load benchmark runs before measuring (defaults to 10)."));
+        options.addOption(new Option(null, LOAD_RESOURCES_PARAM, true,
+                                     "Number of resources created before the load benchmark starts (defaults to " +
+                                     "100)."));
+        options.addOption(new Option(null, SCALE_SIZES_PARAM, true,
+                                     "Increasing container sizes the container-scale benchmark measures at, " +
+                                     "separated by ',' (defaults to \"1000,10000,100000\")."));
+        options.addOption(new Option(null, SCALE_MODELS_PARAM, true,
+                                     "Containers grown by the container-scale benchmark, separated by ',': " +
+                                     "[basic,direct,indirect] (defaults to all three)."));
+        options.addOption(new Option(null, SCALE_SAMPLES_PARAM, true,
+                                     "Number of measured requests of each kind the container-scale and " +
+                                     "hierarchy-depth benchmarks make at each step (defaults to 20)."));
+        options.addOption(new Option(null, SCALE_CONCURRENCY_PARAM, true,
+                                     "Number of concurrent POSTs the container-scale benchmark uses to grow a " +
+                                     "container (defaults to 16)."));
+        options.addOption(new Option(null, SCALE_DEPTHS_PARAM, true,
+                                     "Increasing depths of the container chains built by the hierarchy-depth " +
+                                     "benchmark, separated by ',' (defaults to \"10,100,1000\")."));
+        options.addOption(new Option(null, BINARY_SIZES_PARAM, true,
+                                     "Sizes in MiB of the payloads used by the large-binary and want-digest " +
+                                     "benchmarks, separated by ',' (defaults to \"1024,4096\" and \"16,256\")."));
+        options.addOption(new Option(null, BINARY_SAMPLES_PARAM, true,
+                                     "Number of transfers of each kind the large-binary and want-digest " +
+                                     "benchmarks make at each size, and the number of full GETs made by the " +
+                                     "range-read benchmark (defaults to 3)."));
+        options.addOption(new Option(null, RANGE_SIZE_PARAM, true,
+                                     "Size in MiB of the LDP-NR read by the range-read benchmark (defaults to " +
+                                     "1024)."));
+        options.addOption(new Option(null, RANGE_LENGTH_PARAM, true,
+                                     "Number of bytes in each range requested by the range-read benchmark " +
+                                     "(defaults to 65536)."));
+        options.addOption(new Option(null, RANGE_CONCURRENCY_PARAM, true,
+                                     "Number of concurrent workers used by the range-read benchmark (defaults to " +
+                                     "8)."));
+        options.addOption(new Option(null, RANGE_REQUESTS_PARAM, true,
+                                     "Total number of ranges requested by the range-read benchmark (defaults to " +
+                                     "1000)."));
 
         final CommandLineParser parser = new BasicParser();
         final CommandLine cmd;
@@ -255,6 +425,11 @@ public class App {
                                                      TOPIC_NAME_PARAM));
         }
 
+        final String mode = isNullOrEmpty(tp.getMode()) ? CONFORMANCE_MODE : tp.getMode();
+        if (!mode.equals(CONFORMANCE_MODE) && !BenchmarkRunner.isBenchmark(mode)) {
+            printHelpAndExit("Unknown " + MODE_PARAM + ": " + mode, options);
+        }
+
         //validate that the webids are URIs
         try {
             URI.create(tp.getRootControllerUserWebId());
@@ -276,8 +451,21 @@ public class App {
             }
         }
 
+        configureHttpClient(tp, options);
+
         tp.setTestContainerUrl(TestSuiteGlobals.containerTestSuite());
 
+        if (!mode.equals(CONFORMANCE_MODE)) {
+            // Benchmarks measure the server, so their requests never go through the response cache
+            runBenchmark(mode);
+            return;
+        }
+
+        ResponseCache.initialize(tp);
+
+        // Start creating the shared fixtures while TestNG starts up
+        FixturePool.get();
+
         InputStream inputStream = null;
         if (params.get(TESTNGXML_PARAM).toString().isEmpty()) {
             inputStream = ClassLoader.getSystemResourceAsStream("testng.xml");
@@ -295,6 +483,8 @@ public class App {
         final SuiteXmlParser xmlParser = new SuiteXmlParser();
         final XmlSuite xmlSuite = xmlParser.parse(testFilename, inputStream, true);
 
+        configureParallelism(xmlSuite, tp, options);
+
         final TestNG testng = new TestNG();
         testng.setCommandLineSuite(xmlSuite);
         final String testngOutput = Paths.get(App.outputDirectory, "test-output").toString();
@@ -307,9 +497,104 @@ public class App {
 
         try {
             testng.run();
+            writeRequestMetrics();
         } finally {
-            TestSuiteGlobals.cleanupTestResources();
+            shutdown();
+        }
+    }
+
+    /**
+     * Run a benchmark instead of the conformance tests, exiting with a non-zero status if it fails.
+     *
+     * @param mode the benchmark name
+     */
+    private static void runBenchmark(final String mode) {
+        boolean failed = false;
+        try {
+            BenchmarkRunner.run(mode);
+        } catch (final Exception | AssertionError e) {
+            System.err.println("Benchmark " + mode + " failed: " + e.getMessage());
+            e.printStackTrace(System.err);
+            failed = true;
+        } finally {
+            shutdown();
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static void writeRequestMetrics() {
+        final File file = Paths.get(App.outputDirectory, TestSuiteGlobals.reportOutputDirectory,
+                                    TestSuiteGlobals.outputName + "-request-latency.json").toFile();
+        try {
+            RequestMetrics.get().writeJson(file);
+            System.out.println("Writing request latency results:");
+            System.out.println("\t" + file.getAbsolutePath());
+        } catch (final IOException e) {
+            System.err.println("Unable to write request latency results: " + e.getMessage());
+        }
+    }
+
+    private static void shutdown() {
+        final ResponseCache cache = ResponseCache.get();
+        if (cache != null) {
+            System.out.println("HTTP response cache: " + cache.getHits() + " hits, " + cache.getRevalidations() +
+                               " revalidated, " + cache.getMisses() + " misses, " + cache.getInvalidations() +
+                               " invalidations");
+        }
+        TestSuiteGlobals.cleanupTestResources();
+        HttpClientManager.get().shutdown();
+        TestSuiteGlobals.closeLog();
+    }
+
+    /**
+     * Apply the requested thread count and parallel mode to the suite.
+     *
+     * @param xmlSuite the suite to be run
+     * @param tp the test parameters
+     * @param options the command line options, for help output
+     */
+    private static void configureParallelism(final XmlSuite xmlSuite, final TestParameters tp,
+                                             final Options options) {
+        final int threads = tp.getThreads();
+        if (threads < 1) {
+            printHelpAndExit(THREADS_PARAM + " must be at least 1", options);
+        }
+        final String mode = isNullOrEmpty(tp.getParallelMode()) ? "classes" : tp.getParallelMode().toLowerCase();
+        if (!mode.equals("methods") && !mode.equals("classes") && !mode.equals("none")) {
+            printHelpAndExit(PARALLEL_PARAM + " must be one of [methods|classes|none]: " + mode, options);
+        }
+        if (threads > 1 && !mode.equals("none")) {
+            xmlSuite.setParallel(XmlSuite.ParallelMode.getValidParallel(mode));
+            xmlSuite.setThreadCount(threads);
+        }
+    }
+
+    /**
+     * Check the connection pool settings and set up the shared HTTP client.
+     *
+     * @param tp the test parameters
+     * @param options the command line options, for help output
+     */
+    private static void configureHttpClient(final TestParameters tp, final Options options) {
+        if (tp.getHttpMaxConnections() < 1) {
+            printHelpAndExit(HTTP_MAX_CONNECTIONS_PARAM + " must be at least 1", options);
+        }
+        if (tp.getHttpMaxConnectionsPerRoute() < 1) {
+            printHelpAndExit(HTTP_MAX_CONNECTIONS_PER_ROUTE_PARAM + " must be at least 1", options);
+        }
+        if (tp.getHttpMaxConnectionsPerRoute() > tp.getHttpMaxConnections()) {
+            printHelpAndExit(HTTP_MAX_CONNECTIONS_PER_ROUTE_PARAM + " must not be greater than " +
+                             HTTP_MAX_CONNECTIONS_PARAM, options);
+        }
+        if (tp.getHttpKeepAlive() < 1) {
+            printHelpAndExit(HTTP_KEEP_ALIVE_PARAM + " must be at least 1 second", options);
+        }
+        if (tp.getHttpIdleTimeout() < 1) {
+            printHelpAndExit(HTTP_IDLE_TIMEOUT_PARAM + " must be at least 1 second", options);
         }
+        HttpClientManager.initialize(tp);
     }
 
     private static void printHelpAndExit(final String errorMessage, final Options options) {
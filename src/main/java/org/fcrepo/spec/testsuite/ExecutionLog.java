@@ -0,0 +1,162 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The suite-wide execution log.  Complete sections (typically the output of one test) are placed on a bounded
+ * queue and written by a single background thread to one long-lived file channel, so sections are never
+ * interleaved and callers never wait on file I/O unless the queue is full.
+ *
+ * @author agent
+ */
+public class ExecutionLog {
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] END = new byte[0];
+
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private final Thread writer;
+
+    private volatile boolean closed = false;
+
+    private boolean failed = false;
+
+    /**
+     * Open the log, replacing any existing file.
+     *
+     * @param file the log file
+     */
+    public ExecutionLog(final Path file) {
+        try {
+            channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+        } catch (final IOException ex) {
+            throw new RuntimeException("Unable to open execution log " + file, ex);
+        }
+        writer = new Thread(this::drain, "execution-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    }
+
+    /**
+     * Queue a section to be appended to the log.  Blocks if the writer has fallen too far behind.
+     *
+     * @param section the bytes to append
+     */
+    public void append(final byte[] section) {
+        if (closed || section.length == 0) {
+            return;
+        }
+        try {
+            queue.put(section);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Write all queued sections and close the log.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        final List<byte[]> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                for (final byte[] section : batch) {
+                    if (section == END) {
+                        flush();
+                        return;
+                    }
+                    write(section);
+                }
+                batch.clear();
+                // Nothing else is waiting, so push what we have to the file
+                flush();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                channel.close();
+            } catch (final IOException ex) {
+                // nothing more can be done
+            }
+        }
+    }
+
+    private void write(final byte[] section) {
+        int offset = 0;
+        while (offset < section.length) {
+            final int length = Math.min(buffer.remaining(), section.length - offset);
+            buffer.put(section, offset, length);
+            offset += length;
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+        }
+    }
+
+    private void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining() && !failed) {
+                channel.write(buffer);
+            }
+        } catch (final IOException ex) {
+            // Keep draining the queue so that tests are never blocked, but stop writing
+            failed = true;
+            System.err.println("Unable to write to execution log: " + ex.getMessage());
+        }
+        buffer.clear();
+    }
+}
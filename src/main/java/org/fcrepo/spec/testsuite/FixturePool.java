@@ -0,0 +1,199 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import static org.fcrepo.spec.testsuite.Constants.CONTENT_DISPOSITION;
+import static org.fcrepo.spec.testsuite.Constants.DIRECT_CONTAINER_BODY;
+import static org.fcrepo.spec.testsuite.Constants.INDIRECT_CONTAINER_BODY;
+import static org.fcrepo.spec.testsuite.Constants.ORIGINAL_RESOURCE_LINK_HEADER;
+import static org.fcrepo.spec.testsuite.Constants.SLUG;
+import static org.fcrepo.spec.testsuite.TestSuiteGlobals.registerTestResource;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+/**
+ * Resources shared by the tests which only read them.  Creating a container or binary just to GET it is the most
+ * common way a test begins; such tests instead lease one of these fixtures, which are all created concurrently the
+ * first time the pool is used.
+ * <p>
+ * A fixture is shared by every test leasing it, so a test must not modify it, or create anything within it.  If a
+ * fixture could not be created, leasing it throws the error which prevented its creation, failing the test just as
+ * if it had tried to create the resource itself.
+ *
+ * @author agent
+ */
+public class FixturePool {
+
+    /**
+     * The types of fixture
+     */
+    public enum Fixture {
+        /**
+         * An ldp:BasicContainer with the body {@link Constants#BASIC_CONTAINER_BODY}
+         */
+        BASIC_CONTAINER,
+        /**
+         * An ldp:DirectContainer with the body {@link Constants#DIRECT_CONTAINER_BODY}
+         */
+        DIRECT_CONTAINER,
+        /**
+         * An ldp:IndirectContainer with the body {@link Constants#INDIRECT_CONTAINER_BODY}
+         */
+        INDIRECT_CONTAINER,
+        /**
+         * An LDP-NR whose content is {@link #NON_RDF_SOURCE_BODY}
+         */
+        NON_RDF_SOURCE,
+        /**
+         * An LDPRv (versioned LDP-RS) without any mementos
+         */
+        VERSIONED_RESOURCE
+    }
+
+    /**
+     * The content of the {@link Fixture#NON_RDF_SOURCE} fixture
+     */
+    public static final String NON_RDF_SOURCE_BODY = "TestString";
+
+    private static FixturePool instance;
+
+    private final Map<Fixture, CompletableFuture<String>> fixtures = new EnumMap<>(Fixture.class);
+
+    private FixturePool() {
+        final Provisioner provisioner = new Provisioner();
+        final ExecutorService executor = Executors.newFixedThreadPool(Fixture.values().length, r -> {
+            final Thread thread = new Thread(r, "fixture-provisioner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (final Fixture fixture : Fixture.values()) {
+            fixtures.put(fixture, CompletableFuture.supplyAsync(() -> provisioner.create(fixture), executor));
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Get the pool, starting the creation of the fixtures if this is the first call
+     *
+     * @return the pool
+     */
+    public static synchronized FixturePool get() {
+        if (instance == null) {
+            instance = new FixturePool();
+        }
+        return instance;
+    }
+
+    /**
+     * Lease a fixture which the caller will only read, waiting for it to be created if necessary
+     *
+     * @param fixture the type of fixture
+     * @return the URI of the fixture
+     */
+    public String leaseReadOnly(final Fixture fixture) {
+        try {
+            return fixtures.get(fixture).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Determine whether the implementation supports a type of fixture, waiting for it to be created if necessary.
+     * Only a refusal of the request creating the fixture itself counts as unsupported; any other failure, such as
+     * being unable to create a membership resource, is thrown.
+     *
+     * @param fixture the type of fixture
+     * @return true if the fixture exists, false if the implementation refused to create it
+     */
+    public boolean isAvailable(final Fixture fixture) {
+        try {
+            leaseReadOnly(fixture);
+            return true;
+        } catch (final CreationRefusedError e) {
+            return false;
+        }
+    }
+
+    /**
+     * The implementation refused the request creating a fixture
+     */
+    private static class CreationRefusedError extends AssertionError {
+
+        private static final long serialVersionUID = 1L;
+
+        CreationRefusedError(final AssertionError cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Creates fixtures with the same requests, authentication and logging as the tests
+     */
+    private static class Provisioner extends AbstractTest {
+
+        String create(final Fixture fixture) {
+            final String slug = "fixture-" + fixture.name().toLowerCase().replace('_', '-');
+            switch (fixture) {
+                case BASIC_CONTAINER:
+                    return getLocation(createBasicContainer(uri, slug));
+                case DIRECT_CONTAINER:
+                    return createMembershipContainer(createDirectContainerUnverified(uri, DIRECT_CONTAINER_BODY
+                        .replace("%membershipResource%", getLocation(doPost(uri)))));
+                case INDIRECT_CONTAINER:
+                    return createMembershipContainer(createIndirectContainerUnverified(uri, INDIRECT_CONTAINER_BODY
+                        .replace("%membershipResource%", getLocation(doPost(uri)))));
+                case NON_RDF_SOURCE:
+                    return getLocation(doPost(uri, new Headers(
+                        new Header(CONTENT_DISPOSITION, "attachment; filename=\"fixture.txt\""),
+                        new Header(SLUG, slug)), NON_RDF_SOURCE_BODY));
+                case VERSIONED_RESOURCE:
+                    return getLocation(doPost(uri, new Headers(
+                        new Header("Link", ORIGINAL_RESOURCE_LINK_HEADER),
+                        new Header("Content-Type", "text/turtle"),
+                        new Header(SLUG, slug))));
+                default:
+                    throw new IllegalArgumentException("Unknown fixture: " + fixture);
+            }
+        }
+
+        private String createMembershipContainer(final Response response) {
+            try {
+                response.then().statusCode(successRange());
+            } catch (final AssertionError e) {
+                throw new CreationRefusedError(e);
+            }
+            registerTestResource(response);
+            return getLocation(response);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.params.HttpClientParams;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Suite-wide HTTP connection management.  A single pool of keep-alive connections is shared by every request
+ * issued through RestAssured, so that consecutive requests to the repository reuse sockets (and TLS sessions)
+ * rather than opening a new connection each time.  Idle and expired connections are evicted in the background.
+ *
+ * @author agent
+ */
+@SuppressWarnings("deprecation")
+public class HttpClientManager {
+
+    private static HttpClientManager instance;
+
+    private final PoolingClientConnectionManager connectionManager;
+
+    private final ConnectionKeepAliveStrategy keepAliveStrategy;
+
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * Initialize the shared connection pool and install it as the default RestAssured HTTP client configuration.
+     *
+     * @param params the test parameters holding the pool settings
+     */
+    public static void initialize(final TestParameters params) {
+        if (instance != null) {
+            throw new IllegalStateException("The HTTP client manager has already been initialized.");
+        }
+        instance = new HttpClientManager(params.getHttpMaxConnections(), params.getHttpMaxConnectionsPerRoute(),
+                                         params.getHttpKeepAlive(), params.getHttpIdleTimeout());
+        RestAssured.config = instance.configure(RestAssured.config());
+    }
+
+    /**
+     * Return the singleton
+     *
+     * @return the instance, or null if the manager has not been initialized
+     */
+    public static HttpClientManager get() {
+        return instance;
+    }
+
+    private HttpClientManager(final int maxConnections, final int maxConnectionsPerRoute,
+                              final int keepAliveSeconds, final int idleTimeoutSeconds) {
+        connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        // Honor the server's Keep-Alive header, otherwise keep connections for the configured time
+        keepAliveStrategy = new DefaultConnectionKeepAliveStrategy() {
+            @Override
+            public long getKeepAliveDuration(final HttpResponse response, final HttpContext context) {
+                final long duration = super.getKeepAliveDuration(response, context);
+                return duration > 0 ? duration : TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+            }
+        };
+
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "http-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS);
+        }, idleTimeoutSeconds, idleTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Apply the pooled client to a RestAssured configuration.
+     *
+     * @param config the configuration to extend
+     * @return the configuration using the shared connection pool
+     */
+    public RestAssuredConfig configure(final RestAssuredConfig config) {
+        return config.httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(this::createHttpClient));
+    }
+
+    /**
+     * RestAssured mutates client level parameters (redirects, auth) for each request, so each request receives its
+     * own lightweight client instance backed by the shared connection pool.
+     *
+     * @return a new client using the shared pool
+     */
+    private DefaultHttpClient createHttpClient() {
+        final DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+        client.setKeepAliveStrategy(keepAliveStrategy);
+        // Read the body before handing the response to RestAssured so that the connection is returned to the
+        // pool even if the caller never consumes the body.
+        client.addResponseInterceptor((final HttpResponse response, final HttpContext context) -> {
+            final HttpEntity entity = response.getEntity();
+            if (entity != null && entity.isStreaming()) {
+                response.setEntity(new BufferedHttpEntity(entity));
+            }
+        });
+        return client;
+    }
+
+    /**
+     * Create a client on the shared pool which does not buffer response bodies, for transfers too large to hold in
+     * memory.  The caller must consume or close each response entity to return its connection to the pool.  Like
+     * the other request helpers, the client does not follow redirects.
+     *
+     * @return a new client using the shared pool
+     */
+    public DefaultHttpClient createStreamingClient() {
+        final DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+        client.setKeepAliveStrategy(keepAliveStrategy);
+        HttpClientParams.setRedirecting(client.getParams(), false);
+        return client;
+    }
+
+    /**
+     * Close all pooled connections.
+     */
+    public void shutdown() {
+        evictor.shutdownNow();
+        connectionManager.shutdown();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import io.restassured.response.Response;
+
+/**
+ * Suite-wide discovery of the resources a resource links to (its acl, timemap, timegate, describedby and so on).
+ * The Link headers are read from a HEAD request, falling back to GET only if the server does not support HEAD, so
+ * that a resource is not serialized just to navigate from it.  The links of each URI are remembered for the rest of
+ * the run, until a write to the URI that can change them (a PUT, PATCH or DELETE) makes the caller forget them.
+ *
+ * @author agent
+ */
+public final class LinkDiscovery {
+
+    private static final Map<String, LinkHeaders> LINKS = new ConcurrentHashMap<>();
+
+    private LinkDiscovery() {
+    }
+
+    /**
+     * Return the targets of the links of a given relation from a resource, sending a request only the first time
+     * the resource is asked about.
+     *
+     * @param uri the resource
+     * @param rel the link relation
+     * @param head sends a HEAD request for a URI, without verifying the response
+     * @param get sends a GET request for a URI, verifying that it succeeds
+     * @return the link targets
+     */
+    public static Stream<URI> discover(final String uri, final String rel, final Function<String, Response> head,
+                                       final Function<String, Response> get) {
+        // Look up and load separately rather than in computeIfAbsent, which must not block on a request
+        LinkHeaders links = LINKS.get(uri);
+        if (links == null) {
+            final Response response = head.apply(uri);
+            if (response.getStatusCode() == 405 || response.getStatusCode() == 501) {
+                links = LinkHeaders.of(get.apply(uri));
+            } else {
+                response.then().statusCode(200);
+                links = LinkHeaders.of(response);
+            }
+            LINKS.put(uri, links);
+        }
+        return links.uris(rel);
+    }
+
+    /**
+     * Forget the links of a resource, after a request which may have changed them.
+     *
+     * @param uri the resource
+     */
+    public static void forget(final String uri) {
+        LINKS.remove(uri);
+    }
+}
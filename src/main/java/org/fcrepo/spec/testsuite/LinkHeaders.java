@@ -0,0 +1,267 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Stream;
+import javax.ws.rs.core.Link;
+
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+
+/**
+ * The Link headers of a response, parsed once and indexed by relation.  Nearly every assertion in the suite looks up
+ * links of some relation, so the headers are tokenized directly rather than through a general header parser and the
+ * JAX-RS runtime, and the result is kept for as long as the response is.  {@link Link} objects are only built when a
+ * caller asks for them; looking up link targets does not build any.
+ *
+ * @author agent
+ */
+public final class LinkHeaders {
+
+    private static final LinkHeaders EMPTY = new LinkHeaders(Collections.emptyList());
+
+    private static final Map<Response, LinkHeaders> PARSED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * All link values, in the order they appear
+     */
+    private final List<Value> values;
+
+    /**
+     * Link values by lower-case relation
+     */
+    private final Map<String, List<Value>> byRel = new HashMap<>();
+
+    private LinkHeaders(final List<Value> values) {
+        this.values = values;
+        for (final Value value : values) {
+            for (final String rel : value.rels) {
+                byRel.computeIfAbsent(rel, r -> new ArrayList<>(2)).add(value);
+            }
+        }
+    }
+
+    /**
+     * Return the links of a response, parsing its Link headers the first time they are asked for.
+     *
+     * @param response the response
+     * @return its links
+     */
+    public static LinkHeaders of(final Response response) {
+        final LinkHeaders cached = PARSED.get(response);
+        if (cached != null) {
+            return cached;
+        }
+        final List<Header> headers = response.getHeaders().getList("Link");
+        final LinkHeaders parsed = headers.isEmpty() ? EMPTY : parse(headers.stream().map(Header::getValue));
+        PARSED.put(response, parsed);
+        return parsed;
+    }
+
+    /**
+     * Parse Link header values.
+     *
+     * @param headers the values of each Link header
+     * @return the links
+     * @throws IllegalArgumentException if a header is not a valid Link header
+     */
+    public static LinkHeaders parse(final Stream<String> headers) {
+        final List<Value> values = new ArrayList<>();
+        headers.forEach(header -> new Tokenizer(header).parse(values));
+        return new LinkHeaders(values);
+    }
+
+    /**
+     * @param rel a link relation, matched case-insensitively
+     * @return the targets of the links of that relation
+     */
+    public Stream<URI> uris(final String rel) {
+        return ofRel(rel).stream().map(Value::uri);
+    }
+
+    /**
+     * @param rel a link relation, matched case-insensitively
+     * @return the links of that relation
+     */
+    public Stream<Link> links(final String rel) {
+        return ofRel(rel).stream().map(Value::link);
+    }
+
+    /**
+     * @return all the links, in the order they appear
+     */
+    public Stream<Link> links() {
+        return values.stream().map(Value::link);
+    }
+
+    private List<Value> ofRel(final String rel) {
+        final List<Value> matches = byRel.get(rel.toLowerCase(Locale.ROOT));
+        return matches != null ? matches : Collections.emptyList();
+    }
+
+    /**
+     * One link value: its target and parameters, with the URI and Link built on first use
+     */
+    private static final class Value {
+
+        private final String target;
+
+        private final Map<String, String> params;
+
+        private final String[] rels;
+
+        private URI uri;
+
+        private Link link;
+
+        private Value(final String target, final Map<String, String> params) {
+            this.target = target;
+            this.params = params;
+            final String rel = params.get("rel");
+            this.rels = rel == null ? new String[0] : rel.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        }
+
+        private URI uri() {
+            if (uri == null) {
+                uri = URI.create(target);
+            }
+            return uri;
+        }
+
+        private Link link() {
+            if (link == null) {
+                final Link.Builder builder = Link.fromUri(target);
+                params.forEach(builder::param);
+                link = builder.build();
+            }
+            return link;
+        }
+    }
+
+    /**
+     * Splits one Link header into link values: &lt;target&gt; followed by ;-separated parameters, each a name
+     * with an optional token or quoted-string value, with values separated by commas.
+     */
+    private static final class Tokenizer {
+
+        private final String header;
+
+        private int pos;
+
+        private Tokenizer(final String header) {
+            this.header = header;
+        }
+
+        private void parse(final List<Value> values) {
+            skipWhitespace();
+            while (pos < header.length()) {
+                if (header.charAt(pos) == ',') {
+                    pos++;
+                    skipWhitespace();
+                    continue;
+                }
+                expect('<');
+                final int end = header.indexOf('>', pos);
+                if (end < 0) {
+                    throw malformed();
+                }
+                final String target = header.substring(pos, end).trim();
+                pos = end + 1;
+
+                final Map<String, String> params = new LinkedHashMap<>(4);
+                skipWhitespace();
+                while (pos < header.length() && header.charAt(pos) == ';') {
+                    pos++;
+                    skipWhitespace();
+                    final String name = token().toLowerCase(Locale.ROOT);
+                    skipWhitespace();
+                    String value = "";
+                    if (pos < header.length() && header.charAt(pos) == '=') {
+                        pos++;
+                        skipWhitespace();
+                        value = pos < header.length() && header.charAt(pos) == '"' ? quoted() : token();
+                    }
+                    // As in RFC 8288, only the first occurrence of a parameter counts
+                    if (!name.isEmpty()) {
+                        params.putIfAbsent(name, value);
+                    }
+                    skipWhitespace();
+                }
+                if (pos < header.length() && header.charAt(pos) != ',') {
+                    throw malformed();
+                }
+                values.add(new Value(target, params));
+            }
+        }
+
+        private String token() {
+            final int start = pos;
+            while (pos < header.length()) {
+                final char c = header.charAt(pos);
+                if (c == ';' || c == ',' || c == '=' || c == '"' || Character.isWhitespace(c)) {
+                    break;
+                }
+                pos++;
+            }
+            return header.substring(start, pos);
+        }
+
+        private String quoted() {
+            final StringBuilder value = new StringBuilder();
+            pos++;
+            while (pos < header.length()) {
+                final char c = header.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c == '\\' && pos < header.length()) {
+                    value.append(header.charAt(pos++));
+                } else {
+                    value.append(c);
+                }
+            }
+            throw malformed();
+        }
+
+        private void expect(final char c) {
+            if (pos >= header.length() || header.charAt(pos) != c) {
+                throw malformed();
+            }
+            pos++;
+        }
+
+        private void skipWhitespace() {
+            while (pos < header.length() && Character.isWhitespace(header.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException malformed() {
+            return new IllegalArgumentException("Malformed Link header at position " + pos + ": " + header);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sparql.graph.GraphReadOnly;
+
+/**
+ * A bounded, suite-wide cache of parsed RDF response bodies.  Assertions that inspect the same response more than
+ * once (several triples checked against one large container listing, for example) parse the body only on the first
+ * request.  Entries are keyed by the body text and its syntax, and the least recently used entries are evicted once
+ * the cache holds more than 64 bodies or more than 8M characters of body text.  Bodies over 1M characters are parsed
+ * every time rather than cached, since they would crowd out everything else.
+ * Cached models are read-only; callers that need to modify a model must copy it first.
+ *
+ * @author agent
+ */
+public final class ParsedModelCache {
+
+    private static final int MAX_ENTRIES = 64;
+
+    private static final long MAX_TOTAL_CHARS = 8L * 1024 * 1024;
+
+    private static final int MAX_BODY_CHARS = 1024 * 1024;
+
+    private static final LinkedHashMap<Key, Model> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Characters of body text held by the cache keys
+     */
+    private static long totalChars;
+
+    private ParsedModelCache() {
+    }
+
+    /**
+     * Parse a Turtle response body, or return the model from an earlier parse of the same body.
+     *
+     * @param body the response body
+     * @return a read-only model of the body
+     */
+    public static Model parseTurtle(final String body) {
+        return parse(body, "TURTLE");
+    }
+
+    /**
+     * Parse a response body, or return the model from an earlier parse of the same body.
+     *
+     * @param body the response body
+     * @param lang the Jena name of the body syntax
+     * @return a read-only model of the body
+     */
+    public static Model parse(final String body, final String lang) {
+        final boolean cacheable = body.length() <= MAX_BODY_CHARS;
+        final Key key = new Key(body, lang);
+        if (cacheable) {
+            synchronized (CACHE) {
+                final Model cached = CACHE.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+        // Parse outside the lock; two threads racing on the same body simply parse it twice
+        final Model model = ModelFactory.createDefaultModel();
+        model.read(new StringReader(body), "", lang);
+        final Model readOnly = ModelFactory.createModelForGraph(new GraphReadOnly(model.getGraph()));
+        if (cacheable) {
+            put(key, readOnly);
+        }
+        return readOnly;
+    }
+
+    private static void put(final Key key, final Model model) {
+        synchronized (CACHE) {
+            if (CACHE.put(key, model) == null) {
+                totalChars += key.body.length();
+            }
+            final Iterator<Key> eldest = CACHE.keySet().iterator();
+            while (CACHE.size() > MAX_ENTRIES || totalChars > MAX_TOTAL_CHARS) {
+                totalChars -= eldest.next().body.length();
+                eldest.remove();
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String body;
+        private final String lang;
+
+        private Key(final String body, final String lang) {
+            this.body = body;
+            this.lang = lang;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return lang.equals(other.lang) && body.equals(other.body);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(body, lang);
+        }
+    }
+}
@@ -17,11 +17,15 @@
  */
 package org.fcrepo.spec.testsuite;
 
-import java.io.PrintStream;
+import static org.fcrepo.spec.testsuite.ResourceCleanupScheduler.Outcome.DELETED;
+import static org.fcrepo.spec.testsuite.ResourceCleanupScheduler.Outcome.FAILED;
+import static org.fcrepo.spec.testsuite.ResourceCleanupScheduler.Outcome.GONE;
+
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.ws.rs.core.Link;
 
@@ -39,7 +43,7 @@ public class ResourceCleanupManager {
 
     private String testContainerUrl;
 
-    private List<String> createdResources = new ArrayList<>();
+    private final ConcurrentLinkedQueue<String> createdResources = new ConcurrentLinkedQueue<>();
 
     /**
      * Add a url to the list of created fedora resources
@@ -63,13 +67,13 @@ public class ResourceCleanupManager {
             }
         }
         // Either there was no test container, or it couldn't be recursively deleted
-        // So delete each resource in reverse order added to avoid recursion
-        Collections.reverse(createdResources);
+        // So delete the resources individually, children before their parents to avoid recursion
+        final List<String> resources = new ArrayList<>(createdResources);
         // if present, register test container for deletion after all its children
         if (testContainerUrl != null) {
-            createdResources.add(testContainerUrl);
+            resources.add(testContainerUrl);
         }
-        cleanupResources();
+        cleanupResources(resources);
     }
 
     private boolean cleanupTestContainer() {
@@ -82,28 +86,32 @@ public class ResourceCleanupManager {
         if (allowHeader == null || !allowHeader.contains("DELETE")) {
             return false;
         }
-        return deleteResource(testContainerUrl);
+        return deleteResource(testContainerUrl) == DELETED;
     }
 
     private RequestSpecification auth(final RequestSpecification given) {
         return AuthUtil.auth(given, TestParameters.get().getRootControllerUserWebId());
     }
 
-    private void cleanupResources() {
-        for (final String resourceUrl : createdResources) {
-            deleteResource(resourceUrl);
-        }
+    private void cleanupResources(final List<String> resources) {
+        final TestParameters params = TestParameters.get();
+        final ResourceCleanupScheduler scheduler = new ResourceCleanupScheduler(
+                this::deleteResource, params.getCleanupThreads(), params.getCleanupRetries(), 250);
+        final ResourceCleanupScheduler.Summary summary = scheduler.run(resources);
+
+        System.out.print(summary);
+        TestSuiteGlobals.appendToLog(summary.toString().getBytes(StandardCharsets.UTF_8));
     }
 
-    private boolean deleteResource(final String url) {
+    private ResourceCleanupScheduler.Outcome deleteResource(final String url) {
         final Response resp = auth(RestAssured.given())
                 .when()
                 .delete(url);
 
-        if (resp.statusCode() != 204 && resp.statusCode() != 200) {
-            final PrintStream log = TestSuiteGlobals.logFile();
-            log.append("Failed to cleanup test resource:\n").append(url).append('\n');
-            return false;
+        if (resp.statusCode() == 404 || resp.statusCode() == 410) {
+            return GONE;
+        } else if (resp.statusCode() != 204 && resp.statusCode() != 200) {
+            return FAILED;
         } else {
             final Response headResp = auth(RestAssured.given())
                     .when()
@@ -124,7 +132,7 @@ public class ResourceCleanupManager {
                         .delete(path);
             }
         }
-        return true;
+        return DELETED;
     }
 
     /**
@@ -0,0 +1,243 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Deletes a set of resources concurrently while respecting containment: a resource is only deleted once every
+ * registered resource beneath it in the path hierarchy has been dealt with.  Failed deletes are retried with
+ * exponential backoff.
+ *
+ * @author agent
+ */
+public class ResourceCleanupScheduler {
+
+    /**
+     * Result of a single delete attempt.
+     */
+    public enum Outcome {
+        /** The resource was deleted */
+        DELETED,
+        /** The resource no longer existed (404 or 410) */
+        GONE,
+        /** The delete failed and may be retried */
+        FAILED
+    }
+
+    private final Function<String, Outcome> deleter;
+
+    private final int workers;
+
+    private final int maxRetries;
+
+    private final long backoffMillis;
+
+    /**
+     * Constructor
+     *
+     * @param deleter function deleting a single resource
+     * @param workers number of concurrent deletes
+     * @param maxRetries number of times a failed delete is retried
+     * @param backoffMillis delay before the first retry, doubled for each subsequent retry
+     */
+    public ResourceCleanupScheduler(final Function<String, Outcome> deleter, final int workers,
+                                    final int maxRetries, final long backoffMillis) {
+        this.deleter = deleter;
+        this.workers = Math.max(1, workers);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoffMillis = backoffMillis;
+    }
+
+    /**
+     * Delete the given resources, children before their parents.
+     *
+     * @param urls the resources to delete
+     * @return a summary of the cleanup
+     */
+    public Summary run(final List<String> urls) {
+        final Set<String> resources = new LinkedHashSet<>();
+        urls.forEach(url -> resources.add(normalize(url)));
+
+        // Link each resource to its nearest registered ancestor and count the children it must wait for
+        final Map<String, String> parents = new HashMap<>();
+        final Map<String, AtomicInteger> pendingChildren = new HashMap<>();
+        resources.forEach(url -> pendingChildren.put(url, new AtomicInteger()));
+        for (final String url : resources) {
+            final String parent = findParent(url, resources);
+            if (parent != null) {
+                parents.put(url, parent);
+                pendingChildren.get(parent).incrementAndGet();
+            }
+        }
+
+        final Summary summary = new Summary(resources.size());
+        final CountDownLatch done = new CountDownLatch(resources.size());
+        final ScheduledExecutorService executor = Executors.newScheduledThreadPool(workers, r -> {
+            final Thread thread = new Thread(r, "resource-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final Scheduler scheduler = new Scheduler(executor, parents, pendingChildren, summary, done);
+        try {
+            resources.stream().filter(url -> pendingChildren.get(url).get() == 0).forEach(scheduler::submit);
+            done.await();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        summary.finish();
+        return summary;
+    }
+
+    private static String normalize(final String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static String findParent(final String url, final Set<String> resources) {
+        final int schemeEnd = url.indexOf("://");
+        String path = url;
+        int slash = path.lastIndexOf('/');
+        while (slash > schemeEnd + 2) {
+            path = path.substring(0, slash);
+            if (resources.contains(path)) {
+                return path;
+            }
+            slash = path.lastIndexOf('/');
+        }
+        return null;
+    }
+
+    private class Scheduler {
+        private final ScheduledExecutorService executor;
+        private final Map<String, String> parents;
+        private final Map<String, AtomicInteger> pendingChildren;
+        private final Summary summary;
+        private final CountDownLatch done;
+
+        private Scheduler(final ScheduledExecutorService executor, final Map<String, String> parents,
+                          final Map<String, AtomicInteger> pendingChildren, final Summary summary,
+                          final CountDownLatch done) {
+            this.executor = executor;
+            this.parents = parents;
+            this.pendingChildren = pendingChildren;
+            this.summary = summary;
+            this.done = done;
+        }
+
+        private void submit(final String url) {
+            executor.execute(() -> attempt(url, 0));
+        }
+
+        private void attempt(final String url, final int retry) {
+            Outcome outcome;
+            try {
+                outcome = deleter.apply(url);
+            } catch (final RuntimeException ex) {
+                outcome = Outcome.FAILED;
+            }
+
+            if (outcome == Outcome.FAILED && retry < maxRetries) {
+                summary.retries.incrementAndGet();
+                executor.schedule(() -> attempt(url, retry + 1), backoffMillis << retry, TimeUnit.MILLISECONDS);
+                return;
+            }
+
+            summary.record(url, outcome);
+            // Release the parent once its last child has been handled, even if the child could not be deleted
+            final String parent = parents.get(url);
+            if (parent != null && pendingChildren.get(parent).decrementAndGet() == 0) {
+                submit(parent);
+            }
+            done.countDown();
+        }
+    }
+
+    /**
+     * Outcome of a cleanup run.
+     */
+    public static class Summary {
+        private final int total;
+        private final long start = System.nanoTime();
+        private long elapsedNanos;
+        private final AtomicInteger deleted = new AtomicInteger();
+        private final AtomicInteger gone = new AtomicInteger();
+        private final AtomicInteger retries = new AtomicInteger();
+        private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+        private Summary(final int total) {
+            this.total = total;
+        }
+
+        private void record(final String url, final Outcome outcome) {
+            switch (outcome) {
+                case DELETED:
+                    deleted.incrementAndGet();
+                    break;
+                case GONE:
+                    gone.incrementAndGet();
+                    break;
+                default:
+                    failures.add(url);
+                    break;
+            }
+        }
+
+        private void finish() {
+            elapsedNanos = System.nanoTime() - start;
+        }
+
+        /**
+         * @return the urls which could not be deleted
+         */
+        public List<String> getFailures() {
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            final double seconds = elapsedNanos / 1e9;
+            final StringBuilder builder = new StringBuilder();
+            builder.append(String.format("Cleaned up %d resources in %.2fs (%.1f resources/s): " +
+                                         "%d deleted, %d already gone, %d failed, %d retries\n",
+                                         total, seconds, seconds > 0 ? total / seconds : 0.0,
+                                         deleted.get(), gone.get(), failures.size(), retries.get()));
+            if (!failures.isEmpty()) {
+                builder.append("Failed to cleanup test resources:\n");
+                synchronized (failures) {
+                    failures.forEach(url -> builder.append(url).append('\n'));
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
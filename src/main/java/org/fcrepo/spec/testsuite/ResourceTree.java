@@ -0,0 +1,139 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A tree of resources created by {@link AbstractTest#provisionTree(String, TreeSpec)}.  Every resource in it has been
+ * registered for cleanup.
+ *
+ * @author agent
+ */
+public class ResourceTree {
+
+    private final String root;
+
+    private final List<List<String>> levels = new ArrayList<>();
+
+    private final Map<String, List<String>> children = new ConcurrentHashMap<>();
+
+    private final Map<String, String> acls = new ConcurrentHashMap<>();
+
+    private volatile long elapsedNanos;
+
+    ResourceTree(final String root, final int depth) {
+        this.root = root;
+        for (int i = 0; i <= depth; i++) {
+            levels.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        levels.get(0).add(root);
+    }
+
+    void addChild(final String parent, final String child, final int level) {
+        children.computeIfAbsent(parent, k -> Collections.synchronizedList(new ArrayList<>())).add(child);
+        levels.get(level).add(child);
+    }
+
+    void addAcl(final String resource, final String acl) {
+        acls.put(resource, acl);
+    }
+
+    void setElapsedNanos(final long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the URI of the root
+     */
+    public String getRoot() {
+        return root;
+    }
+
+    /**
+     * @param level the level, 0 being the root
+     * @return the URIs of the resources at that level, in the order they were created
+     */
+    public List<String> getLevel(final int level) {
+        synchronized (levels.get(level)) {
+            return new ArrayList<>(levels.get(level));
+        }
+    }
+
+    /**
+     * @return the URIs of the resources at the lowest level
+     */
+    public List<String> getLeaves() {
+        return getLevel(getDepth());
+    }
+
+    /**
+     * @param parent the URI of a resource in the tree
+     * @return the URIs of its children, in the order they were created
+     */
+    public List<String> getChildren(final String parent) {
+        final List<String> list = children.getOrDefault(parent, Collections.emptyList());
+        synchronized (list) {
+            return new ArrayList<>(list);
+        }
+    }
+
+    /**
+     * @return the URIs of every resource, level by level from the root
+     */
+    public List<String> getResources() {
+        final List<String> resources = new ArrayList<>();
+        for (int i = 0; i <= getDepth(); i++) {
+            resources.addAll(getLevel(i));
+        }
+        return resources;
+    }
+
+    /**
+     * @param resource the URI of a resource in the tree
+     * @return the URI of the ACL created for it, or null if none was
+     */
+    public String getAcl(final String resource) {
+        return acls.get(resource);
+    }
+
+    /**
+     * @return the number of levels below the root
+     */
+    public int getDepth() {
+        return levels.size() - 1;
+    }
+
+    /**
+     * @return the number of resources in the tree, not counting ACLs
+     */
+    public int size() {
+        return levels.stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * @return the time taken to create the tree, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.BasicAuthScheme;
+import io.restassured.authentication.ExplicitNoAuthScheme;
+import io.restassured.authentication.NoAuthScheme;
+import io.restassured.authentication.PreemptiveBasicAuthScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Sends a bodiless request itself instead of passing it on to RestAssured, which holds the whole response body in
+ * memory, and copies the response body to a sink as it arrives.  The request keeps the headers added by the
+ * specification and earlier filters, and basic authentication is sent preemptively.  The response handed back has
+ * the status and headers received but an empty body.
+ *
+ * @author agent
+ */
+class StreamingBodyFilter implements Filter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream sink;
+
+    StreamingBodyFilter(final OutputStream sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public Response filter(final FilterableRequestSpecification requestSpec,
+                           final FilterableResponseSpecification responseSpec, final FilterContext ctx) {
+        final RequestBuilder builder = RequestBuilder.create(requestSpec.getMethod()).setUri(requestSpec.getURI());
+        for (final Header header : requestSpec.getHeaders()) {
+            builder.addHeader(header.getName(), header.getValue());
+        }
+        final String authorization = basicAuthorization(requestSpec.getAuthenticationScheme());
+        if (authorization != null) {
+            builder.setHeader("Authorization", authorization);
+        }
+        final HttpUriRequest request = builder.build();
+
+        try {
+            final HttpResponse response = HttpClientManager.get().createStreamingClient().execute(request);
+            final HttpEntity entity = response.getEntity();
+            try {
+                if (entity != null) {
+                    try (InputStream in = entity.getContent()) {
+                        final byte[] buffer = new byte[BUFFER_SIZE];
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            sink.write(buffer, 0, read);
+                        }
+                    }
+                }
+            } finally {
+                EntityUtils.consumeQuietly(entity);
+            }
+
+            final List<Header> headers = new ArrayList<>();
+            for (final org.apache.http.Header header : response.getAllHeaders()) {
+                headers.add(new Header(header.getName(), header.getValue()));
+            }
+            return new ResponseBuilder().setStatusCode(response.getStatusLine().getStatusCode())
+                                        .setStatusLine(response.getStatusLine().toString())
+                                        .setHeaders(new Headers(headers))
+                                        .setBody(new byte[0])
+                                        .build();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Streaming " + requestSpec.getMethod() + " of " +
+                                           requestSpec.getURI() + " failed", e);
+        }
+    }
+
+    private static String basicAuthorization(final AuthenticationScheme scheme) {
+        final String user;
+        final String password;
+        if (scheme instanceof BasicAuthScheme) {
+            user = ((BasicAuthScheme) scheme).getUserName();
+            password = ((BasicAuthScheme) scheme).getPassword();
+        } else if (scheme instanceof PreemptiveBasicAuthScheme) {
+            user = ((PreemptiveBasicAuthScheme) scheme).getUserName();
+            password = ((PreemptiveBasicAuthScheme) scheme).getPassword();
+        } else if (scheme == null || scheme instanceof NoAuthScheme || scheme instanceof ExplicitNoAuthScheme) {
+            return null;
+        } else {
+            throw new IllegalStateException("Streaming requests support header and basic authentication only, not " +
+                                            scheme.getClass().getSimpleName());
+        }
+        return "Basic " + Base64.getEncoder().encodeToString((user + ":" + password).getBytes(UTF_8));
+    }
+}
@@ -68,6 +68,72 @@ public class TestParameters {
 
     public final static String IMPLEMENTATION_NOTES_PARAM = "implementation-notes";
 
+    public final static String THREADS_PARAM = "threads";
+
+    public final static String PARALLEL_PARAM = "parallel";
+
+    public final static String HTTP_MAX_CONNECTIONS_PARAM = "http-max-connections";
+
+    public final static String HTTP_MAX_CONNECTIONS_PER_ROUTE_PARAM = "http-max-connections-per-route";
+
+    public final static String HTTP_KEEP_ALIVE_PARAM = "http-keep-alive";
+
+    public final static String HTTP_IDLE_TIMEOUT_PARAM = "http-idle-timeout";
+
+    public final static String HTTP_CACHE_PARAM = "http-cache";
+
+    public final static String HTTP_CACHE_MAX_AGE_PARAM = "http-cache-max-age";
+
+    public final static String CLEANUP_THREADS_PARAM = "cleanup-threads";
+
+    public final static String CLEANUP_RETRIES_PARAM = "cleanup-retries";
+
+    public final static String AUTH_TOKEN_REFRESH_PARAM = "auth-token-refresh";
+
+    public final static String AUTH_TOKEN_TTL_PARAM = "auth-token-ttl";
+
+    public final static String MODE_PARAM = "mode";
+
+    public final static String BENCHMARK_ITERATIONS_PARAM = "benchmark-iterations";
+
+    public final static String BENCHMARK_WARMUP_PARAM = "benchmark-warmup";
+
+    public final static String EVENT_OPERATIONS_PARAM = "event-operations";
+
+    public final static String LOAD_MIX_PARAM = "load-mix";
+
+    public final static String LOAD_CONCURRENCY_PARAM = "load-concurrency";
+
+    public final static String LOAD_RATE_PARAM = "load-rate";
+
+    public final static String LOAD_DURATION_PARAM = "load-duration";
+
+    public final static String LOAD_WARMUP_PARAM = "load-warmup";
+
+    public final static String LOAD_RESOURCES_PARAM = "load-resources";
+
+    public final static String SCALE_SIZES_PARAM = "scale-sizes";
+
+    public final static String SCALE_MODELS_PARAM = "scale-models";
+
+    public final static String SCALE_SAMPLES_PARAM = "scale-samples";
+
+    public final static String SCALE_CONCURRENCY_PARAM = "scale-concurrency";
+
+    public final static String SCALE_DEPTHS_PARAM = "scale-depths";
+
+    public final static String BINARY_SIZES_PARAM = "binary-sizes";
+
+    public final static String BINARY_SAMPLES_PARAM = "binary-samples";
+
+    public final static String RANGE_SIZE_PARAM = "range-size";
+
+    public final static String RANGE_LENGTH_PARAM = "range-length";
+
+    public final static String RANGE_CONCURRENCY_PARAM = "range-concurrency";
+
+    public final static String RANGE_REQUESTS_PARAM = "range-requests";
+
     private static TestParameters instance;
 
     private Map<String, String> params = null;
@@ -234,4 +300,282 @@ public class TestParameters {
     public String getImplementationVersion() {
         return params.get(IMPLEMENTATION_VERSION_PARAM);
     }
+
+    /**
+     * Get the number of threads used to execute tests.
+     * @return the number of threads, 1 when not specified
+     */
+    public int getThreads() {
+        return getIntParam(THREADS_PARAM, 1);
+    }
+
+    /**
+     * Get the TestNG parallel mode: methods, classes or none.
+     * @return the parallel mode
+     */
+    public String getParallelMode() {
+        return params.get(PARALLEL_PARAM);
+    }
+
+    /**
+     * Get the maximum number of pooled HTTP connections.
+     * @return the maximum number of connections
+     */
+    public int getHttpMaxConnections() {
+        return getIntParam(HTTP_MAX_CONNECTIONS_PARAM, 100);
+    }
+
+    /**
+     * Get the maximum number of pooled HTTP connections per host.
+     * @return the maximum number of connections per route
+     */
+    public int getHttpMaxConnectionsPerRoute() {
+        return getIntParam(HTTP_MAX_CONNECTIONS_PER_ROUTE_PARAM, 50);
+    }
+
+    /**
+     * Get how long, in seconds, an HTTP connection is kept alive when the server does not say.
+     * @return the keep-alive time in seconds
+     */
+    public int getHttpKeepAlive() {
+        return getIntParam(HTTP_KEEP_ALIVE_PARAM, 30);
+    }
+
+    /**
+     * Get how long, in seconds, an HTTP connection may sit idle in the pool before it is evicted.
+     * @return the idle timeout in seconds
+     */
+    public int getHttpIdleTimeout() {
+        return getIntParam(HTTP_IDLE_TIMEOUT_PARAM, 30);
+    }
+
+    /**
+     * Get whether GET and HEAD responses are cached on the client.
+     * @return true if the response cache is enabled
+     */
+    public boolean isHttpCacheEnabled() {
+        return Boolean.parseBoolean(params.get(HTTP_CACHE_PARAM));
+    }
+
+    /**
+     * Get how long, in seconds, a cached response without Cache-Control max-age or Expires is reused before it is
+     * revalidated.
+     * @return the heuristic freshness lifetime in seconds
+     */
+    public int getHttpCacheMaxAge() {
+        return getIntParam(HTTP_CACHE_MAX_AGE_PARAM, 0);
+    }
+
+    /**
+     * Get the number of concurrent deletes used when cleaning up test resources.
+     * @return the number of cleanup threads
+     */
+    public int getCleanupThreads() {
+        return getIntParam(CLEANUP_THREADS_PARAM, 8);
+    }
+
+    /**
+     * Get the number of times a failed delete is retried when cleaning up test resources.
+     * @return the number of retries
+     */
+    public int getCleanupRetries() {
+        return getIntParam(CLEANUP_RETRIES_PARAM, 2);
+    }
+
+    /**
+     * Get how many seconds before expiry an authentication token is refreshed.
+     * @return the refresh window in seconds
+     */
+    public int getAuthTokenRefresh() {
+        return getIntParam(AUTH_TOKEN_REFRESH_PARAM, 30);
+    }
+
+    /**
+     * Get how many seconds an authentication token which declares no expiry is reused for.
+     * @return the time to live in seconds, 0 to create a new token for every request
+     */
+    public int getAuthTokenTtl() {
+        return getIntParam(AUTH_TOKEN_TTL_PARAM, 300);
+    }
+
+    /**
+     * Get the run mode: the conformance tests or the name of a benchmark.
+     * @return the mode
+     */
+    public String getMode() {
+        return params.get(MODE_PARAM);
+    }
+
+    /**
+     * Get the number of measured iterations a benchmark performs.
+     * @return the number of iterations
+     */
+    public int getBenchmarkIterations() {
+        return getIntParam(BENCHMARK_ITERATIONS_PARAM, 100);
+    }
+
+    /**
+     * Get the number of unmeasured iterations a benchmark performs before measuring.
+     * @return the number of warmup iterations
+     */
+    public int getBenchmarkWarmup() {
+        return getIntParam(BENCHMARK_WARMUP_PARAM, 10);
+    }
+
+    /**
+     * Get the comma separated operations measured by the event latency benchmark.
+     * @return the operations
+     */
+    public String getEventOperations() {
+        return params.get(EVENT_OPERATIONS_PARAM);
+    }
+
+    /**
+     * Get the weighted operation mix used by the load generator.
+     * @return the mix, e.g. get=70,patch=10,post=10,delete=10
+     */
+    public String getLoadMix() {
+        return params.get(LOAD_MIX_PARAM);
+    }
+
+    /**
+     * Get the number of concurrent workers used by the load generator.
+     * @return the number of workers
+     */
+    public int getLoadConcurrency() {
+        return getIntParam(LOAD_CONCURRENCY_PARAM, 8);
+    }
+
+    /**
+     * Get the fixed request rate of the load generator, or 0 to issue requests as fast as the workers allow.
+     * @return requests per second
+     */
+    public int getLoadRate() {
+        return getIntParam(LOAD_RATE_PARAM, 0);
+    }
+
+    /**
+     * Get how long the load generator measures for.
+     * @return the duration in seconds
+     */
+    public int getLoadDuration() {
+        return getIntParam(LOAD_DURATION_PARAM, 60);
+    }
+
+    /**
+     * Get how long the load generator runs before it starts measuring.
+     * @return the warmup in seconds
+     */
+    public int getLoadWarmup() {
+        return getIntParam(LOAD_WARMUP_PARAM, 10);
+    }
+
+    /**
+     * Get the number of resources created before a load run starts.
+     * @return the number of resources
+     */
+    public int getLoadResources() {
+        return getIntParam(LOAD_RESOURCES_PARAM, 100);
+    }
+
+    /**
+     * Get the comma separated container sizes the container scale benchmark grows through.
+     * @return the sizes, e.g. 1000,10000,100000
+     */
+    public String getScaleSizes() {
+        return params.get(SCALE_SIZES_PARAM);
+    }
+
+    /**
+     * Get the comma separated interaction models measured by the container scale benchmark.
+     * @return the models, e.g. basic,direct,indirect
+     */
+    public String getScaleModels() {
+        return params.get(SCALE_MODELS_PARAM);
+    }
+
+    /**
+     * Get the comma separated chain depths the hierarchy depth benchmark builds.
+     * @return the depths, e.g. 10,100,1000
+     */
+    public String getScaleDepths() {
+        return params.get(SCALE_DEPTHS_PARAM);
+    }
+
+    /**
+     * Get the number of measured requests the container scale and hierarchy depth benchmarks make at each step.
+     * @return the number of requests
+     */
+    public int getScaleSamples() {
+        return getIntParam(SCALE_SAMPLES_PARAM, 20);
+    }
+
+    /**
+     * Get the number of concurrent POSTs the container scale benchmark uses to grow a container.
+     * @return the number of concurrent requests
+     */
+    public int getScaleConcurrency() {
+        return getIntParam(SCALE_CONCURRENCY_PARAM, 16);
+    }
+
+    /**
+     * Get the comma separated payload sizes, in MiB, used by the large binary and want digest benchmarks.
+     * @return the sizes, e.g. 1024,4096
+     */
+    public String getBinarySizes() {
+        return params.get(BINARY_SIZES_PARAM);
+    }
+
+    /**
+     * Get the number of transfers of each kind the large binary and want digest benchmarks make at each size, and
+     * the number of full GETs the range read benchmark makes.
+     * @return the number of transfers
+     */
+    public int getBinarySamples() {
+        return getIntParam(BINARY_SAMPLES_PARAM, 3);
+    }
+
+    /**
+     * Get the size, in MiB, of the LDP-NR the range read benchmark reads from.
+     * @return the size
+     */
+    public int getRangeSize() {
+        return getIntParam(RANGE_SIZE_PARAM, 1024);
+    }
+
+    /**
+     * Get the number of bytes in each range the range read benchmark requests.
+     * @return the range length
+     */
+    public int getRangeLength() {
+        return getIntParam(RANGE_LENGTH_PARAM, 65536);
+    }
+
+    /**
+     * Get the number of concurrent workers used by the range read benchmark.
+     * @return the number of workers
+     */
+    public int getRangeConcurrency() {
+        return getIntParam(RANGE_CONCURRENCY_PARAM, 8);
+    }
+
+    /**
+     * Get the total number of ranges the range read benchmark requests.
+     * @return the number of requests
+     */
+    public int getRangeRequests() {
+        return getIntParam(RANGE_REQUESTS_PARAM, 1000);
+    }
+
+    private int getIntParam(final String name, final int defaultValue) {
+        final String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (final NumberFormatException ex) {
+            throw new RuntimeException("Argument \"" + name + "\" must be an integer: " + value);
+        }
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * An OutputStream which buffers the writes of each thread separately.  Tests running concurrently share a single
+ * PrintStream, but each one accumulates its own section of the execution log, which is handed back in full when
+ * the test ends.  Threads which have not begun a section (fixture and tree provisioning workers, benchmark and load
+ * workers) write to the execution log directly, a line at a time, so that a failed request is still logged.
+ *
+ * @author agent
+ */
+public class TestSectionStream extends OutputStream {
+
+    private final ThreadLocal<ByteArrayOutputStream> section = new ThreadLocal<>();
+
+    /**
+     * The incomplete line of a thread without a section
+     */
+    private final ThreadLocal<ByteArrayOutputStream> line = ThreadLocal.withInitial(ByteArrayOutputStream::new);
+
+    /**
+     * Begin buffering a new section for the current thread.
+     */
+    public void begin() {
+        section.set(new ByteArrayOutputStream());
+    }
+
+    /**
+     * @return the section of the current thread, or null if none was begun
+     */
+    public ByteArrayOutputStream current() {
+        return section.get();
+    }
+
+    /**
+     * Do some work on behalf of another thread's section.  Whatever the work writes is buffered separately and added
+     * to that section in one piece when the work completes, so that the output of concurrent workers is not mixed.
+     *
+     * @param target the section, from {@link #current()} on the other thread, or null to write to the log directly
+     * @param work the work
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public <T> T inSection(final ByteArrayOutputStream target, final Supplier<T> work) {
+        if (target == null) {
+            return work.get();
+        }
+        final ByteArrayOutputStream previous = section.get();
+        section.set(new ByteArrayOutputStream());
+        try {
+            return work.get();
+        } finally {
+            final byte[] bytes = section.get().toByteArray();
+            target.write(bytes, 0, bytes.length);
+            if (previous == null) {
+                section.remove();
+            } else {
+                section.set(previous);
+            }
+        }
+    }
+
+    /**
+     * End the section of the current thread.
+     *
+     * @return the bytes written by the current thread since begin(), or an empty array if no section was begun
+     */
+    public byte[] end() {
+        final ByteArrayOutputStream buffer = section.get();
+        section.remove();
+        return buffer == null ? new byte[0] : buffer.toByteArray();
+    }
+
+    @Override
+    public void write(final int b) {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        final ByteArrayOutputStream buffer = section.get();
+        if (buffer != null) {
+            buffer.write(b, off, len);
+            return;
+        }
+        final ByteArrayOutputStream pending = line.get();
+        pending.write(b, off, len);
+        // Write complete lines only, so that lines from different threads are not mixed
+        for (int i = off + len - 1; i >= off; i--) {
+            if (b[i] == '\n') {
+                final byte[] bytes = pending.toByteArray();
+                final int complete = bytes.length - (off + len - 1 - i);
+                TestSuiteGlobals.appendToLog(Arrays.copyOf(bytes, complete));
+                pending.reset();
+                pending.write(bytes, complete, bytes.length - complete);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        final ByteArrayOutputStream pending = section.get() == null ? line.get() : null;
+        if (pending != null && pending.size() > 0) {
+            TestSuiteGlobals.appendToLog(pending.toByteArray());
+            pending.reset();
+        }
+    }
+}
@@ -21,9 +21,10 @@ import static org.fcrepo.spec.testsuite.Constants.BASIC_CONTAINER_LINK_HEADER;
 import static org.fcrepo.spec.testsuite.Constants.SLUG;
 import static org.fcrepo.spec.testsuite.authn.AuthUtil.auth;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Map;
@@ -52,6 +53,8 @@ public abstract class TestSuiteGlobals {
 
     private static ResourceCleanupManager cleanupManager;
 
+    private static ExecutionLog executionLog;
+
     static {
         initialize();
     }
@@ -90,12 +93,9 @@ public abstract class TestSuiteGlobals {
             dir.mkdirs();
         }
 
-        //remove existing log if exists
-        final File f = new File(
-            TestSuiteGlobals.reportOutputDirectory + "/" + TestSuiteGlobals.outputName + "-execution.log");
-        if (f.exists()) {
-            f.delete();
-        }
+        //replace existing log if exists
+        executionLog = new ExecutionLog(Paths.get(
+            TestSuiteGlobals.reportOutputDirectory, TestSuiteGlobals.outputName + "-execution.log"));
     }
 
     /**
@@ -155,17 +155,35 @@ public abstract class TestSuiteGlobals {
     }
 
     /**
+     * Start a new section of the execution log.  Nothing is written until the returned stream is closed, at which
+     * point the whole section is appended to the log.
+     *
      * @return ps
      */
     public static PrintStream logFile() {
-        try {
-            final FileOutputStream fos = new FileOutputStream(new File(TestSuiteGlobals.reportOutputDirectory + "/" +
-                                                                       TestSuiteGlobals.outputName + "-execution.log"),
-                                                              true);
-            return new PrintStream(fos);
-        } catch (final Exception ex) {
-            throw new RuntimeException(ex);
-        }
+        return new PrintStream(new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                appendToLog(toByteArray());
+            }
+        });
+    }
+
+    /**
+     * Append a complete section to the execution log.  Sections are written one at a time so that the output of
+     * tests running concurrently is not interleaved.
+     *
+     * @param section the bytes to append
+     */
+    public static void appendToLog(final byte[] section) {
+        executionLog.append(section);
+    }
+
+    /**
+     * Write any pending sections and close the execution log.
+     */
+    public static void closeLog() {
+        executionLog.close();
     }
 
     /**
@@ -186,15 +204,7 @@ public abstract class TestSuiteGlobals {
     private static void addToResults(final TreeMap<String, String[]> results, final IResultMap resultMap,
                                      final String outcome) {
         for (final ITestResult result : resultMap.getAllResults()) {
-            final ITestNGMethod method = result.getMethod();
-            final TestInfo info = TestInfo.getByMethodName(method.getMethodName());
-            final String[] details = new String[6];
-            details[0] = info.getSpecLink();
-            details[1] = outcome;
-            details[2] = info.getDescription();
-            details[3] = info.getId();
-            details[4] = getStackTrace(result.getThrowable());
-            details[5] = method.getGroups()[0];
+            final String[] details = testDetails(result, outcome);
 
             // Ensure that no test IDs have accidentally been duplicated
             if (results.containsKey(details[3])) {
@@ -204,6 +214,27 @@ public abstract class TestSuiteGlobals {
         }
     }
 
+    /**
+     * Describe a single test result as used by the reporters: spec link, outcome, description, test id, stack trace
+     * and requirement level.
+     *
+     * @param result the test result
+     * @param outcome PASS, SKIPPED or FAIL
+     * @return details
+     */
+    public static String[] testDetails(final ITestResult result, final String outcome) {
+        final ITestNGMethod method = result.getMethod();
+        final TestInfo info = TestInfo.getByMethodName(method.getMethodName());
+        final String[] details = new String[6];
+        details[0] = info.getSpecLink();
+        details[1] = outcome;
+        details[2] = info.getDescription();
+        details[3] = info.getId();
+        details[4] = getStackTrace(result.getThrowable());
+        details[5] = method.getGroups()[0];
+        return details;
+    }
+
     /**
      * @param thrown
      * @return msg
@@ -0,0 +1,160 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import static org.fcrepo.spec.testsuite.Constants.SLUG;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import org.fcrepo.spec.testsuite.metrics.RequestMetrics;
+import org.fcrepo.spec.testsuite.metrics.TestRequestStats;
+
+/**
+ * Creates the resources of a {@link TreeSpec} using the request helpers of a test.  A node's children are requested
+ * as soon as it exists, so every level is built concurrently, but no more than the spec's parallelism at once.
+ *
+ * @author agent
+ */
+class TreeProvisioner {
+
+    private final AbstractTest test;
+
+    private final TreeSpec spec;
+
+    private final TestRequestStats testStats = RequestMetrics.get().currentTest();
+
+    private final ByteArrayOutputStream logSection;
+
+    private final Map<String, String> acls = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    TreeProvisioner(final AbstractTest test, final TreeSpec spec) {
+        spec.validate();
+        this.test = test;
+        this.logSection = test.getTestSection().current();
+        this.spec = spec;
+    }
+
+    /**
+     * Create the tree
+     *
+     * @param parent the URI of the container in which to create the root
+     * @param slug the slug of the root
+     * @return the tree
+     */
+    ResourceTree provision(final String parent, final String slug) {
+        final long start = System.nanoTime();
+        return build(new ResourceTree(createNode(parent, slug, 0), spec.getDepth()), 0, start);
+    }
+
+    /**
+     * Create the levels of the tree below a container which already exists, so that repeated calls grow the same
+     * container.  The interaction model and ACL given for the root are not applied to it.
+     *
+     * @param root the URI of the existing container
+     * @param firstChild the number used in the slug of the first new child
+     * @return the tree of new resources, rooted at the existing container
+     */
+    ResourceTree populate(final String root, final int firstChild) {
+        return build(new ResourceTree(root, spec.getDepth()), firstChild, System.nanoTime());
+    }
+
+    private ResourceTree build(final ResourceTree tree, final int firstChild, final long start) {
+        executor = Executors.newFixedThreadPool(spec.getParallelism(), r -> {
+            final Thread thread = new Thread(r, "tree-provisioner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            createChildren(tree, tree.getRoot(), 1, firstChild).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+        acls.forEach(tree::addAcl);
+        tree.setElapsedNanos(System.nanoTime() - start);
+        return tree;
+    }
+
+    private CompletableFuture<Void> createChildren(final ResourceTree tree, final String parent, final int level,
+                                                   final int firstChild) {
+        if (level > spec.getDepth()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final List<CompletableFuture<Void>> children = new ArrayList<>(spec.getFanOut());
+        for (int i = 0; i < spec.getFanOut(); i++) {
+            final String slug = "n" + (firstChild + i);
+            children.add(CompletableFuture.supplyAsync(() -> inTest(() -> createNode(parent, slug, level)), executor)
+                .thenCompose(child -> {
+                    tree.addChild(parent, child, level);
+                    return createChildren(tree, child, level + 1, 0);
+                }));
+        }
+        return CompletableFuture.allOf(children.toArray(new CompletableFuture[0]));
+    }
+
+    private String createNode(final String parent, final String slug, final int level) {
+        final TreeSpec.InteractionModel model = spec.getModel(level);
+        final Headers headers = new Headers(new Header("Link", model.getLinkHeader()),
+                                            new Header("Content-Type", model.getContentType()),
+                                            new Header(SLUG, slug));
+        final String location = test.getLocation(test.doPost(parent, headers, model.getBody()));
+        if (spec.hasAcl(level)) {
+            acls.put(location, createAcl(location));
+        }
+        return location;
+    }
+
+    private String createAcl(final String resource) {
+        final Map<String, String> params = new HashMap<>(spec.getAclParams());
+        params.put("resource", resource);
+        return test.createAclForResource(resource, spec.getAclTemplate(), params);
+    }
+
+    /**
+     * Count the requests made on a worker thread towards the test which asked for the tree, and log them in its
+     * section of the execution log
+     */
+    private <T> T inTest(final Supplier<T> request) {
+        RequestMetrics.get().setCurrentTest(testStats);
+        try {
+            return test.getTestSection().inSection(logSection, request);
+        } finally {
+            RequestMetrics.get().setCurrentTest(null);
+        }
+    }
+}
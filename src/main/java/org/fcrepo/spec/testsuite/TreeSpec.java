@@ -0,0 +1,253 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite;
+
+import static org.fcrepo.spec.testsuite.Constants.BASIC_CONTAINER_BODY;
+import static org.fcrepo.spec.testsuite.Constants.BASIC_CONTAINER_LINK_HEADER;
+import static org.fcrepo.spec.testsuite.Constants.DIRECT_CONTAINER_BODY;
+import static org.fcrepo.spec.testsuite.Constants.INDIRECT_CONTAINER_BODY;
+import static org.fcrepo.spec.testsuite.Constants.NON_RDF_SOURCE_LINK_HEADER;
+import static org.fcrepo.spec.testsuite.Constants.RDF_BODY;
+import static org.fcrepo.spec.testsuite.Constants.RDF_SOURCE_LINK_HEADER;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Describes a tree of resources to be created by {@link AbstractTest#provisionTree(String, TreeSpec)}: a root with
+ * {@code depth} levels below it, each node having {@code fanOut} children.  Every node but the leaves is a container
+ * of the given interaction model; the leaves may have a different one.  An ACL may be created from one of the
+ * templates in {@code src/main/resources/acls} on the root, or on every node.
+ *
+ * @author agent
+ */
+public class TreeSpec {
+
+    /**
+     * The interaction models a node may have
+     */
+    public enum InteractionModel {
+        BASIC_CONTAINER(BASIC_CONTAINER_LINK_HEADER, "text/turtle", BASIC_CONTAINER_BODY, true),
+        DIRECT_CONTAINER("<http://www.w3.org/ns/ldp#DirectContainer>; rel=\"type\"", "text/turtle",
+                         DIRECT_CONTAINER_BODY.replace("%membershipResource%", ""), true),
+        INDIRECT_CONTAINER("<http://www.w3.org/ns/ldp#IndirectContainer>; rel=\"type\"", "text/turtle",
+                           INDIRECT_CONTAINER_BODY.replace("%membershipResource%", ""), true),
+        RDF_SOURCE(RDF_SOURCE_LINK_HEADER, "text/turtle", RDF_BODY, false),
+        NON_RDF_SOURCE(NON_RDF_SOURCE_LINK_HEADER, "text/plain", "TestString", false);
+
+        private final String linkHeader;
+        private final String contentType;
+        private final String body;
+        private final boolean container;
+
+        InteractionModel(final String linkHeader, final String contentType, final String body,
+                         final boolean container) {
+            this.linkHeader = linkHeader;
+            this.contentType = contentType;
+            this.body = body;
+            this.container = container;
+        }
+
+        String getLinkHeader() {
+            return linkHeader;
+        }
+
+        String getContentType() {
+            return contentType;
+        }
+
+        String getBody() {
+            return body;
+        }
+
+        /**
+         * @return true if a node of this model may have children
+         */
+        public boolean isContainer() {
+            return container;
+        }
+    }
+
+    private int depth = 1;
+    private int fanOut = 10;
+    private InteractionModel model = InteractionModel.BASIC_CONTAINER;
+    private InteractionModel leafModel;
+    private String aclTemplate;
+    private Map<String, String> aclParams = Collections.emptyMap();
+    private boolean aclOnEveryNode;
+    private int parallelism = 8;
+
+    /**
+     * @return a spec for a basic container holding ten basic containers, to be refined by the other methods
+     */
+    public static TreeSpec tree() {
+        return new TreeSpec();
+    }
+
+    /**
+     * @param depth the number of levels below the root
+     * @return this spec
+     */
+    public TreeSpec depth(final int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Tree depth must not be negative: " + depth);
+        }
+        this.depth = depth;
+        return this;
+    }
+
+    /**
+     * @param fanOut the number of children of every node above the leaves
+     * @return this spec
+     */
+    public TreeSpec fanOut(final int fanOut) {
+        if (fanOut < 1) {
+            throw new IllegalArgumentException("Tree fan-out must be at least 1: " + fanOut);
+        }
+        this.fanOut = fanOut;
+        return this;
+    }
+
+    /**
+     * @param model the interaction model of every node, or of the nodes above the leaves if {@link
+     *              #leafModel(InteractionModel)} is also given
+     * @return this spec
+     */
+    public TreeSpec model(final InteractionModel model) {
+        this.model = model;
+        return this;
+    }
+
+    /**
+     * @param leafModel the interaction model of the leaves
+     * @return this spec
+     */
+    public TreeSpec leafModel(final InteractionModel leafModel) {
+        this.leafModel = leafModel;
+        return this;
+    }
+
+    /**
+     * Create an ACL on the root from a template in {@code src/main/resources/acls}.  The template's ${resource} is
+     * replaced by the URI of the node and ${user} by the given user.
+     *
+     * @param template the file name of the template
+     * @param user the WebID substituted for ${user}
+     * @return this spec
+     */
+    public TreeSpec acl(final String template, final String user) {
+        final Map<String, String> params = new HashMap<>();
+        params.put("user", user);
+        return acl(template, params);
+    }
+
+    /**
+     * Create an ACL on the root from a template in {@code src/main/resources/acls}.  The template's ${resource} is
+     * replaced by the URI of the node and ${name} by the value of name in the given parameters.
+     *
+     * @param template the file name of the template
+     * @param params the values of the template's other parameters
+     * @return this spec
+     */
+    public TreeSpec acl(final String template, final Map<String, String> params) {
+        this.aclTemplate = template;
+        this.aclParams = new HashMap<>(params);
+        return this;
+    }
+
+    /**
+     * Create the ACL on every node rather than only on the root
+     *
+     * @return this spec
+     */
+    public TreeSpec aclOnEveryNode() {
+        this.aclOnEveryNode = true;
+        return this;
+    }
+
+    /**
+     * @param parallelism the greatest number of requests made at once
+     * @return this spec
+     */
+    public TreeSpec parallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    int getFanOut() {
+        return fanOut;
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    String getAclTemplate() {
+        return aclTemplate;
+    }
+
+    Map<String, String> getAclParams() {
+        return aclParams;
+    }
+
+    /**
+     * @param level the level of a node, 0 being the root
+     * @return the interaction model of nodes at that level
+     */
+    InteractionModel getModel(final int level) {
+        return level == depth && leafModel != null ? leafModel : model;
+    }
+
+    /**
+     * @param level the level of a node, 0 being the root
+     * @return true if nodes at that level get an ACL
+     */
+    boolean hasAcl(final int level) {
+        return aclTemplate != null && (level == 0 || aclOnEveryNode);
+    }
+
+    /**
+     * @return the number of resources in the tree, not counting ACLs
+     */
+    public long size() {
+        long size = 0;
+        long level = 1;
+        for (int i = 0; i <= depth; i++) {
+            size += level;
+            level *= fanOut;
+        }
+        return size;
+    }
+
+    /**
+     * Check that only containers are given children
+     */
+    void validate() {
+        if (depth > 0 && !model.isContainer()) {
+            throw new IllegalArgumentException(model + " cannot have children; use leafModel() for the leaves");
+        }
+    }
+}
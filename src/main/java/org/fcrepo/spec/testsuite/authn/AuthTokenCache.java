@@ -0,0 +1,131 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fcrepo.spec.testsuite.authn;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds one authentication token per user-identifying URI so that the Authenticator is only consulted when a user
+ * is first seen or when its token is about to expire.  Tokens which declare an expiry (see
+ * {@link AuthenticationToken#expiresAt()}) are refreshed in the background once they are within the refresh window,
+ * while requests keep using the current token.  A token which has already expired is replaced before it is used.
+ * <p>
+ * A token which declares no expiry is treated as expiring a fixed time after it was created, so that authenticators
+ * which do not override expiresAt() still get fresh tokens during a long run.  With a time of zero such tokens are
+ * not reused at all.
+ *
+ * @author agent
+ */
+public class AuthTokenCache {
+
+    private final Authenticator authenticator;
+
+    private final Duration refreshWindow;
+
+    private final Duration defaultTtl;
+
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "auth-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor
+     *
+     * @param authenticator the Authenticator which creates tokens
+     * @param refreshWindow how long before expiry a token is refreshed
+     * @param defaultTtl how long a token which declares no expiry is used for
+     */
+    public AuthTokenCache(final Authenticator authenticator, final Duration refreshWindow,
+                          final Duration defaultTtl) {
+        this.authenticator = authenticator;
+        this.refreshWindow = refreshWindow;
+        this.defaultTtl = defaultTtl;
+    }
+
+    /**
+     * Returns a usable token for the user, creating or refreshing it as needed
+     *
+     * @param webId A user-identifying URI (such as a WebID)
+     * @return an authentication token
+     */
+    public AuthenticationToken get(final String webId) {
+        final Instant now = Instant.now();
+        CachedToken cached = tokens.get(webId);
+        if (cached == null || cached.isExpired(now)) {
+            // Nothing usable yet, so the caller has to wait for a new token
+            cached = tokens.compute(webId, (k, current) ->
+                current == null || current.isExpired(Instant.now()) ? create(k) : current);
+        } else if (cached.isDueForRefresh(now, refreshWindow)) {
+            refreshInBackground(webId, cached);
+        }
+        return cached.token;
+    }
+
+    private void refreshInBackground(final String webId, final CachedToken cached) {
+        if (!cached.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                final CachedToken fresh = create(webId);
+                tokens.replace(webId, cached, fresh);
+            } catch (final RuntimeException ex) {
+                // Keep using the current token; the next request inside the window will try again
+                System.err.println("Unable to refresh authentication token for " + webId + ": " + ex.getMessage());
+                cached.refreshing.set(false);
+            }
+        });
+    }
+
+    private CachedToken create(final String webId) {
+        final AuthenticationToken token = authenticator.createAuthToken(URI.create(webId));
+        final Instant expiresAt = token.expiresAt().orElseGet(() -> Instant.now().plus(defaultTtl));
+        return new CachedToken(token, expiresAt);
+    }
+
+    private static class CachedToken {
+        private final AuthenticationToken token;
+        private final Instant expiresAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private CachedToken(final AuthenticationToken token, final Instant expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(final Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+
+        private boolean isDueForRefresh(final Instant now, final Duration window) {
+            return !now.isBefore(expiresAt.minus(window));
+        }
+    }
+}
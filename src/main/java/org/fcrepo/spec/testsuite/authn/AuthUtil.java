@@ -20,8 +20,6 @@ package org.fcrepo.spec.testsuite.authn;
 
 import static org.testng.util.Strings.isNullOrEmpty;
 
-import java.net.URI;
-
 import io.restassured.http.Header;
 import io.restassured.specification.RequestSpecification;
 import org.fcrepo.spec.testsuite.TestParameters;
@@ -48,8 +46,8 @@ public class AuthUtil {
                                   params.getPermissionlessUserAuthHeader();
 
         if (isNullOrEmpty(authHeader)) {
-            return AuthenticatorResolver.getAuthenticator()
-                                        .createAuthToken(URI.create(webId))
+            return AuthenticatorResolver.getTokenCache()
+                                        .get(webId)
                                         .addAuthInfo(request);
         } else {
             return request.header(new Header("Authorization", authHeader));
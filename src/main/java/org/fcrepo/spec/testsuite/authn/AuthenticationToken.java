@@ -17,6 +17,9 @@
  */
 package org.fcrepo.spec.testsuite.authn;
 
+import java.time.Instant;
+import java.util.Optional;
+
 import io.restassured.specification.RequestSpecification;
 
 /**
@@ -33,4 +36,13 @@ public interface AuthenticationToken {
      * @return the modified request specification
      */
     RequestSpecification addAuthInfo(RequestSpecification requestSpecification);
+
+    /**
+     * Returns the time after which the token can no longer be used.  Tokens are reused across requests until they
+     * near this time, at which point a new token is requested from the Authenticator.
+     * @return the expiry time, or empty if the token does not expire
+     */
+    default Optional<Instant> expiresAt() {
+        return Optional.empty();
+    }
 }
@@ -26,6 +26,7 @@ import java.io.PrintStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -33,6 +34,7 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOCase;
 import org.apache.commons.io.filefilter.FileFilterUtils;
+import org.fcrepo.spec.testsuite.TestParameters;
 import org.fcrepo.spec.testsuite.TestSuiteGlobals;
 import org.reflections.Reflections;
 import org.reflections.scanners.SubTypesScanner;
@@ -48,6 +50,8 @@ public class AuthenticatorResolver {
 
     private static Authenticator instance = null;
 
+    private static AuthTokenCache tokenCache = null;
+
     private AuthenticatorResolver() {
     }
 
@@ -59,6 +63,9 @@ public class AuthenticatorResolver {
     public static void initialize(final String authenticatorClazz) {
         authenticatorClass = authenticatorClazz;
         instance = findAuthenticator();
+        tokenCache = new AuthTokenCache(instance,
+                                        Duration.ofSeconds(TestParameters.get().getAuthTokenRefresh()),
+                                        Duration.ofSeconds(TestParameters.get().getAuthTokenTtl()));
     }
 
     private static Authenticator findAuthenticator() {
@@ -177,4 +184,16 @@ public class AuthenticatorResolver {
         }
         return instance;
     }
+
+    /**
+     * Returns the cache of tokens created by the configured authenticator
+     *
+     * @return the token cache
+     */
+    public static AuthTokenCache getTokenCache() {
+        if (tokenCache == null) {
+            throw new RuntimeException("You must all initialize() on this class before accessing the token cache.");
+        }
+        return tokenCache;
+    }
 }
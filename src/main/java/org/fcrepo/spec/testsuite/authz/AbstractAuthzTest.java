@@ -18,10 +18,7 @@
 package org.fcrepo.spec.testsuite.authz;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import javax.ws.rs.core.Link;
 
 import io.restassured.http.Header;
 import io.restassured.http.Headers;
@@ -33,14 +30,6 @@ import org.fcrepo.spec.testsuite.AbstractTest;
  */
 public class AbstractAuthzTest extends AbstractTest {
 
-    protected String filterFileAndConvertToString(final String fileName, final Map<String, String> params) {
-        String str = fileToString("/acls/" + fileName);
-        for (String key : params.keySet()) {
-            str = str.replace("${" + key + "}", params.get(key));
-        }
-        return str;
-    }
-
     protected String getAclAsString(final String fileName, final String resourceUri, final String user) {
         final Map<String, String> params = new HashMap<>();
         params.put("resource", resourceUri);
@@ -48,17 +37,6 @@ public class AbstractAuthzTest extends AbstractTest {
         return filterFileAndConvertToString(fileName, params);
     }
 
-    protected String getAclLocation(final String resourceUri) {
-        //get or create the resource
-        final Response resourceResponse = doGet(resourceUri);
-        final List<Link> acls = getLinksOfRelType(resourceResponse, "acl").collect(Collectors.toList());
-        if (acls.size() > 0) {
-            return acls.get(0).getUri().toString();
-        } else {
-            throw new RuntimeException("No link of type rel=\"acl\" found on resource: " + resourceUri);
-        }
-    }
-
     protected String createResource(final String baseUri, final String resourceId) {
         final Response resourceResponse = createBasicContainer(baseUri, resourceId);
         return getLocation(resourceResponse);
@@ -74,17 +52,6 @@ public class AbstractAuthzTest extends AbstractTest {
         return aclUri;
     }
 
-    protected String createAclForResource(final String resourceUri, final String aclFileName,
-                                          final Map<String, String> aclParams) {
-        //get acl handle
-        final String aclUri = getAclLocation(resourceUri);
-        //create read acl for user role
-        final Response response = doPutUnverified(aclUri, new Headers(new Header("Content-Type", "text/turtle")),
-                                                  filterFileAndConvertToString(aclFileName, aclParams));
-        response.then().statusCode(successRange());
-        return aclUri;
-    }
-
     protected boolean isClientAclLinkingSupported() {
         //create a resource to be used for the acl link
         final Response aclResponse = createBasicContainer(uri, "test");
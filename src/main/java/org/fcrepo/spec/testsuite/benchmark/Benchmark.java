@@ -0,0 +1,40 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.benchmark;
+
+/**
+ * A measurement run against the repository under test, selected with the --mode option instead of the conformance
+ * tests.
+ *
+ * @author agent
+ */
+public interface Benchmark {
+
+    /**
+     * @return the name used to select the benchmark with --mode
+     */
+    String getName();
+
+    /**
+     * Run the benchmark.  Any resources created must be registered for cleanup.
+     *
+     * @return the measurements
+     * @throws Exception if the benchmark could not be completed
+     */
+    BenchmarkResult run() throws Exception;
+}
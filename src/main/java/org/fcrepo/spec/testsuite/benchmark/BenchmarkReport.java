@@ -0,0 +1,101 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.fcrepo.spec.testsuite.metrics.HistogramJson;
+import org.fcrepo.spec.testsuite.metrics.LatencyHistogram;
+
+/**
+ * Writes benchmark results as a plain text summary and as JSON.  Latencies are reported in milliseconds; the JSON
+ * also carries the raw histogram buckets, in nanoseconds, so that runs can be compared later.
+ *
+ * @author agent
+ */
+public class BenchmarkReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkReport() {
+    }
+
+    /**
+     * Print a summary table of the result
+     *
+     * @param result the benchmark result
+     * @param out where to print
+     */
+    public static void print(final BenchmarkResult result, final PrintStream out) {
+        out.println();
+        out.println("Benchmark: " + result.getName());
+        out.println(String.format(Locale.ROOT, "Measured period: %.3f s", result.getElapsedNanos() / 1e9));
+        out.println(String.format(Locale.ROOT, "%-24s %8s %10s %10s %10s %10s %10s %10s", "operation", "count",
+                                  "p50 ms", "p95 ms", "p99 ms", "max ms", "mean ms", "ops/s"));
+        for (final Map.Entry<String, LatencyHistogram> entry : result.getOperations().entrySet()) {
+            final LatencyHistogram h = entry.getValue();
+            out.println(String.format(Locale.ROOT, "%-24s %8d %10.2f %10.2f %10.2f %10.2f %10.2f %10.1f",
+                                      entry.getKey(), h.getCount(), millis(h.getValueAtPercentile(50)),
+                                      millis(h.getValueAtPercentile(95)), millis(h.getValueAtPercentile(99)),
+                                      millis(h.getMax()), h.getMean() / 1e6, result.getThroughput(entry.getKey())));
+        }
+        for (final Map.Entry<String, Long> counter : result.getCounters().entrySet()) {
+            out.println(counter.getKey() + ": " + counter.getValue());
+        }
+        out.println();
+    }
+
+    /**
+     * Write the result as JSON
+     *
+     * @param result the benchmark result
+     * @param file the file to write
+     * @throws IOException on failure to write the file
+     */
+    public static void writeJson(final BenchmarkResult result, final File file) throws IOException {
+        final ObjectNode root = MAPPER.createObjectNode();
+        root.put("benchmark", result.getName());
+        root.put("timestamp", Instant.now().toString());
+        root.put("elapsedMillis", result.getElapsedNanos() / 1e6);
+
+        final ObjectNode counters = root.putObject("counters");
+        result.getCounters().forEach(counters::put);
+
+        final ObjectNode operations = root.putObject("operations");
+        for (final Map.Entry<String, LatencyHistogram> entry : result.getOperations().entrySet()) {
+            final ObjectNode op = operations.putObject(entry.getKey());
+            HistogramJson.write(op, entry.getValue());
+            op.put("throughput", result.getThroughput(entry.getKey()));
+        }
+
+        file.getParentFile().mkdirs();
+        MAPPER.writeValue(file, root);
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.benchmark;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.fcrepo.spec.testsuite.metrics.LatencyHistogram;
+
+/**
+ * The measurements from one benchmark run: a latency histogram per operation, in the order operations were first
+ * recorded, plus any named counters.
+ *
+ * @author agent
+ */
+public class BenchmarkResult {
+
+    private final String name;
+
+    private final Map<String, LatencyHistogram> operations = new LinkedHashMap<>();
+
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+
+    private long elapsedNanos;
+
+    /**
+     * Constructor
+     *
+     * @param name the benchmark name
+     */
+    public BenchmarkResult(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the benchmark name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the histogram for an operation, creating it if this is the first use
+     *
+     * @param operation the operation name
+     * @return the histogram
+     */
+    public synchronized LatencyHistogram histogram(final String operation) {
+        return operations.computeIfAbsent(operation, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Get the histogram for an operation without creating it
+     *
+     * @param operation the operation name
+     * @return the histogram, or null if the operation has not been recorded
+     */
+    public synchronized LatencyHistogram findHistogram(final String operation) {
+        return operations.get(operation);
+    }
+
+    /**
+     * @return the histograms, by operation name
+     */
+    public synchronized Map<String, LatencyHistogram> getOperations() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(operations));
+    }
+
+    /**
+     * Set a named counter
+     *
+     * @param counter the counter name
+     * @param value the value
+     */
+    public synchronized void setCounter(final String counter, final long value) {
+        counters.put(counter, value);
+    }
+
+    /**
+     * @return the counters, by name
+     */
+    public synchronized Map<String, Long> getCounters() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(counters));
+    }
+
+    /**
+     * @return the measured period in nanoseconds, used to calculate throughput
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @param elapsedNanos the measured period in nanoseconds
+     */
+    public void setElapsedNanos(final long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get the rate at which an operation completed over the measured period
+     *
+     * @param operation the operation name
+     * @return operations per second
+     */
+    public double getThroughput(final String operation) {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return histogram(operation).getCount() * 1e9 / elapsedNanos;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.benchmark;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.fcrepo.spec.testsuite.App;
+import org.fcrepo.spec.testsuite.TestSuiteGlobals;
+import org.fcrepo.spec.testsuite.binary.LargeBinaryBenchmark;
+import org.fcrepo.spec.testsuite.binary.RangeReadBenchmark;
+import org.fcrepo.spec.testsuite.binary.WantDigestBenchmark;
+import org.fcrepo.spec.testsuite.cache.ConditionalRequestBenchmark;
+import org.fcrepo.spec.testsuite.event.EventLatencyBenchmark;
+import org.fcrepo.spec.testsuite.load.LoadGenerator;
+import org.fcrepo.spec.testsuite.scale.ContainerScaleBenchmark;
+import org.fcrepo.spec.testsuite.scale.HierarchyDepthBenchmark;
+
+/**
+ * Looks up benchmarks by mode name, runs them and writes their reports.
+ *
+ * @author agent
+ */
+public class BenchmarkRunner {
+
+    /**
+     * The default mode, which runs the conformance tests rather than a benchmark
+     */
+    public static final String CONFORMANCE_MODE = "conformance";
+
+    private static final Map<String, Supplier<Benchmark>> BENCHMARKS = new LinkedHashMap<>();
+
+    static {
+        BENCHMARKS.put("event-latency", EventLatencyBenchmark::new);
+        BENCHMARKS.put("load", LoadGenerator::new);
+        BENCHMARKS.put("container-scale", ContainerScaleBenchmark::new);
+        BENCHMARKS.put("hierarchy-depth", HierarchyDepthBenchmark::new);
+        BENCHMARKS.put("large-binary", LargeBinaryBenchmark::new);
+        BENCHMARKS.put("want-digest", WantDigestBenchmark::new);
+        BENCHMARKS.put("range-read", RangeReadBenchmark::new);
+        BENCHMARKS.put("conditional-get", ConditionalRequestBenchmark::new);
+    }
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * @return the names of all benchmark modes
+     */
+    public static Set<String> getModes() {
+        return Collections.unmodifiableSet(BENCHMARKS.keySet());
+    }
+
+    /**
+     * @param mode a mode name
+     * @return whether the mode selects a benchmark
+     */
+    public static boolean isBenchmark(final String mode) {
+        return BENCHMARKS.containsKey(mode);
+    }
+
+    /**
+     * Run a benchmark, print its summary and write its JSON report to the report directory
+     *
+     * @param mode the benchmark mode name
+     * @return the result
+     * @throws Exception if the benchmark fails
+     */
+    public static BenchmarkResult run(final String mode) throws Exception {
+        final Benchmark benchmark = BENCHMARKS.get(mode).get();
+        final BenchmarkResult result = benchmark.run();
+        BenchmarkReport.print(result, System.out);
+
+        final File file = Paths.get(App.getOutputDirectory(), TestSuiteGlobals.reportOutputDirectory,
+                                    TestSuiteGlobals.outputName + "-benchmark-" + benchmark.getName() + ".json")
+                               .toFile();
+        BenchmarkReport.writeJson(result, file);
+        System.out.println("Benchmark results written to " + file.getPath());
+        return result;
+    }
+}
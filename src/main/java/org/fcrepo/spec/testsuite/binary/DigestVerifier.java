@@ -0,0 +1,180 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.binary;
+
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+
+/**
+ * Computes digests of a response body as it is written, so that a body of any size can be checked against the
+ * Digest header [RFC3230] without being held in memory.  Supports the md5, sha, sha-256 and sha-512 algorithms.
+ * <p>
+ * Digest values are expected to be base64 encoded, as the RFCs require, but hexadecimal values are also accepted.
+ *
+ * @author agent
+ */
+public class DigestVerifier extends OutputStream {
+
+    private static final Map<String, String> ALGORITHMS = new LinkedHashMap<>();
+
+    static {
+        ALGORITHMS.put("md5", "MD5");
+        ALGORITHMS.put("sha", "SHA-1");
+        ALGORITHMS.put("sha-256", "SHA-256");
+        ALGORITHMS.put("sha-512", "SHA-512");
+    }
+
+    private final Map<String, MessageDigest> digests = new LinkedHashMap<>();
+
+    private Map<String, byte[]> results;
+
+    /**
+     * Constructor
+     *
+     * @param algorithms the names of the algorithms to compute, as used in the Digest header; unsupported ones are
+     *                   ignored
+     */
+    public DigestVerifier(final String... algorithms) {
+        for (final String algorithm : algorithms) {
+            final String name = algorithm.trim().toLowerCase(Locale.ROOT);
+            if (ALGORITHMS.containsKey(name)) {
+                try {
+                    digests.put(name, MessageDigest.getInstance(ALGORITHMS.get(name)));
+                } catch (final NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Create a verifier for the supported algorithms a Want-Digest header asks for, skipping any with q=0
+     *
+     * @param wantDigest the Want-Digest header value, e.g. "md5;q=0.3,sha;q=1"
+     * @return the verifier
+     */
+    public static DigestVerifier forWantDigest(final String wantDigest) {
+        final List<String> algorithms = new ArrayList<>();
+        for (final String element : wantDigest.split(",")) {
+            final String[] parts = element.split(";");
+            boolean wanted = true;
+            for (int i = 1; i < parts.length; i++) {
+                final String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        wanted = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (final NumberFormatException e) {
+                        // leave the algorithm wanted
+                    }
+                }
+            }
+            if (wanted) {
+                algorithms.add(parts[0]);
+            }
+        }
+        return new DigestVerifier(algorithms.toArray(new String[0]));
+    }
+
+    @Override
+    public void write(final int b) {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        if (results != null) {
+            throw new IllegalStateException("The digests have already been computed");
+        }
+        for (final MessageDigest digest : digests.values()) {
+            digest.update(bytes, offset, length);
+        }
+    }
+
+    /**
+     * Compare the digests of everything written with the values in the Digest headers of a response.  Values for
+     * algorithms which were not computed are ignored.
+     *
+     * @param headers the response headers
+     * @return null if at least one computed digest was present and all present ones match, otherwise a description
+     *         of the problem
+     */
+    public String getMismatch(final Headers headers) {
+        final Map<String, byte[]> computed = getResults();
+        final List<String> problems = new ArrayList<>();
+        int matched = 0;
+        for (final Header header : headers.getList("Digest")) {
+            for (final String element : header.getValue().split(",")) {
+                final int equals = element.indexOf('=');
+                if (equals < 0) {
+                    continue;
+                }
+                final String name = element.substring(0, equals).trim().toLowerCase(Locale.ROOT);
+                final byte[] expected = computed.get(name);
+                if (expected == null) {
+                    continue;
+                }
+                final String value = element.substring(equals + 1).trim();
+                if (matches(expected, value)) {
+                    matched++;
+                } else {
+                    problems.add(name + "=" + value + " but the content has " + name + "=" +
+                                 Base64.getEncoder().encodeToString(expected));
+                }
+            }
+        }
+        if (!problems.isEmpty()) {
+            return "Digest does not match the content: " + String.join("; ", problems);
+        } else if (matched == 0) {
+            return "No Digest header value for any of " + computed.keySet() + ": " + headers.getList("Digest");
+        }
+        return null;
+    }
+
+    private Map<String, byte[]> getResults() {
+        if (results == null) {
+            results = new LinkedHashMap<>();
+            digests.forEach((name, digest) -> results.put(name, digest.digest()));
+        }
+        return results;
+    }
+
+    private static boolean matches(final byte[] expected, final String value) {
+        if (value.length() == expected.length * 2 && value.matches("[0-9a-fA-F]+")) {
+            final byte[] decoded = new byte[expected.length];
+            for (int i = 0; i < decoded.length; i++) {
+                decoded[i] = (byte) Integer.parseInt(value.substring(i * 2, i * 2 + 2), 16);
+            }
+            return MessageDigest.isEqual(expected, decoded);
+        }
+        try {
+            return MessageDigest.isEqual(expected, Base64.getDecoder().decode(value));
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
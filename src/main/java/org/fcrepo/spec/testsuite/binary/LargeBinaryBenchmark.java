@@ -0,0 +1,179 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.binary;
+
+import static org.fcrepo.spec.testsuite.Constants.NON_RDF_SOURCE_LINK_HEADER;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import org.fcrepo.spec.testsuite.AbstractTest;
+import org.fcrepo.spec.testsuite.TestParameters;
+import org.fcrepo.spec.testsuite.benchmark.Benchmark;
+import org.fcrepo.spec.testsuite.benchmark.BenchmarkResult;
+
+/**
+ * Uploads LDP-NRs of several sizes, generated from a seed as they are sent with chunked transfer encoding, then
+ * downloads each and checks it against the same generated content as it arrives.  Neither the payload nor the
+ * download is ever held in memory or written to disk, so sizes are limited only by the repository.
+ * <p>
+ * Operations are named "&lt;size&gt;MiB upload" and "&lt;size&gt;MiB download".  The counters hold the transfer
+ * rate of each in MB/s, the peak client heap use during each, and the number of downloads which did not match.
+ *
+ * @author agent
+ */
+public class LargeBinaryBenchmark extends AbstractTest implements Benchmark {
+
+    private static final String DEFAULT_SIZES = "1024,4096";
+
+    private static final long MIB = 1024 * 1024;
+
+    private BenchmarkResult result;
+
+    private final List<String> summary = new ArrayList<>();
+
+    @Override
+    public String getName() {
+        return "large-binary";
+    }
+
+    @Override
+    public BenchmarkResult run() throws Exception {
+        final TestParameters params = TestParameters.get();
+        final List<Integer> sizes = parseSizes(params.getBinarySizes().isEmpty() ? DEFAULT_SIZES :
+                                               params.getBinarySizes());
+        final int samples = params.getBinarySamples();
+        if (samples < 1) {
+            throw new RuntimeException(TestParameters.BINARY_SAMPLES_PARAM + " must be at least 1");
+        }
+
+        result = new BenchmarkResult(getName());
+        final long start = System.nanoTime();
+        long failures = 0;
+        for (final int size : sizes) {
+            final long length = size * MIB;
+            final String step = size + "MiB";
+            final AtomicLong uploadNanos = new AtomicLong();
+            final AtomicLong downloadNanos = new AtomicLong();
+            long uploadHeap = 0;
+            long downloadHeap = 0;
+            for (int i = 0; i < samples; i++) {
+                final long seed = size * 1000L + i;
+                final String[] location = new String[1];
+                uploadHeap = Math.max(uploadHeap, peakHeap(() -> {
+                    final long t = System.nanoTime();
+                    location[0] = getLocation(doPost(uri, new Headers(
+                        new Header("Link", NON_RDF_SOURCE_LINK_HEADER),
+                        new Header("Content-Type", "application/octet-stream")), new SeededInputStream(seed, length)));
+                    record(step + " upload", t, uploadNanos);
+                }));
+
+                final SeededVerifier verifier = new SeededVerifier(seed, length);
+                downloadHeap = Math.max(downloadHeap, peakHeap(() -> {
+                    final long t = System.nanoTime();
+                    doGet(location[0], verifier);
+                    record(step + " download", t, downloadNanos);
+                }));
+                final String mismatch = verifier.getMismatch();
+                if (mismatch != null) {
+                    failures++;
+                    System.err.println("Download of " + location[0] + " does not match the upload: " + mismatch);
+                }
+                // Free the repository's storage before the next upload
+                doDelete(location[0]);
+            }
+
+            final double uploadRate = rate(length * samples, uploadNanos.get());
+            final double downloadRate = rate(length * samples, downloadNanos.get());
+            result.setCounter(step + " upload MB/s", Math.round(uploadRate));
+            result.setCounter(step + " download MB/s", Math.round(downloadRate));
+            result.setCounter(step + " upload peak heap MiB", uploadHeap / MIB);
+            result.setCounter(step + " download peak heap MiB", downloadHeap / MIB);
+            summary.add(String.format(Locale.ROOT, "%10d %12.1f %14.1f %12d %14d", size, uploadRate, downloadRate,
+                                      uploadHeap / MIB, downloadHeap / MIB));
+        }
+        result.setElapsedNanos(System.nanoTime() - start);
+        result.setCounter("verification failures", failures);
+        result.setCounter("max heap MiB", Runtime.getRuntime().maxMemory() / MIB);
+
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%10s %12s %14s %12s %14s", "size MiB", "upload MB/s",
+                                         "download MB/s", "upload heap", "download heap"));
+        summary.forEach(System.out::println);
+        return result;
+    }
+
+    private void record(final String operation, final long start, final AtomicLong total) {
+        final long elapsed = System.nanoTime() - start;
+        result.histogram(operation).record(elapsed);
+        total.addAndGet(elapsed);
+    }
+
+    /**
+     * Run a transfer and measure the most heap in use at any point during it
+     *
+     * @return the peak heap use in bytes, summed over the heap memory pools
+     */
+    private static long peakHeap(final Runnable transfer) {
+        final List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+                pools.add(pool);
+            }
+        }
+        transfer.run();
+        long peak = 0;
+        for (final MemoryPoolMXBean pool : pools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    private static double rate(final long bytes, final long nanos) {
+        return nanos <= 0 ? 0 : bytes / 1e6 / (nanos / 1e9);
+    }
+
+    /**
+     * @param value sizes in MiB separated by ','
+     * @return the sizes
+     */
+    static List<Integer> parseSizes(final String value) {
+        final List<Integer> sizes = new ArrayList<>();
+        for (final String size : value.split(",")) {
+            try {
+                sizes.add(Integer.parseInt(size.trim()));
+            } catch (final NumberFormatException e) {
+                throw new RuntimeException("Argument \"" + TestParameters.BINARY_SIZES_PARAM +
+                                           "\" must be a list of integers: " + value);
+            }
+            if (sizes.get(sizes.size() - 1) < 1) {
+                throw new RuntimeException("Argument \"" + TestParameters.BINARY_SIZES_PARAM +
+                                           "\" must be positive: " + value);
+            }
+        }
+        return sizes;
+    }
+}
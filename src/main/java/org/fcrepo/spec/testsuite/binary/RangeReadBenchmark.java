@@ -0,0 +1,155 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.binary;
+
+import static org.fcrepo.spec.testsuite.Constants.NON_RDF_SOURCE_LINK_HEADER;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.fcrepo.spec.testsuite.AbstractTest;
+import org.fcrepo.spec.testsuite.TestParameters;
+import org.fcrepo.spec.testsuite.benchmark.Benchmark;
+import org.fcrepo.spec.testsuite.benchmark.BenchmarkResult;
+
+/**
+ * Reads random byte ranges of a large LDP-NR from several workers at once, as image servers and video players do,
+ * and compares them with GETs of the whole LDP-NR.
+ * <p>
+ * The "range" operation's throughput is in ranges per second over the concurrent phase.  Responses which are not
+ * 206 with the requested Content-Range are counted as errors.
+ *
+ * @author agent
+ */
+public class RangeReadBenchmark extends AbstractTest implements Benchmark {
+
+    private static final long MIB = 1024 * 1024;
+
+    private BenchmarkResult result;
+
+    private final AtomicLong errors = new AtomicLong();
+
+    @Override
+    public String getName() {
+        return "range-read";
+    }
+
+    @Override
+    public BenchmarkResult run() throws Exception {
+        final TestParameters params = TestParameters.get();
+        final long size = params.getRangeSize() * MIB;
+        final int length = params.getRangeLength();
+        final int concurrency = params.getRangeConcurrency();
+        final int requests = params.getRangeRequests();
+        if (size < 1 || length < 1 || length > size || concurrency < 1 || requests < 1) {
+            throw new RuntimeException(TestParameters.RANGE_SIZE_PARAM + ", " + TestParameters.RANGE_LENGTH_PARAM +
+                                       ", " + TestParameters.RANGE_CONCURRENCY_PARAM + " and " +
+                                       TestParameters.RANGE_REQUESTS_PARAM + " must be at least 1, and the range no " +
+                                       "longer than the binary");
+        }
+
+        result = new BenchmarkResult(getName());
+        final String location = getLocation(doPost(uri, new Headers(
+            new Header("Link", NON_RDF_SOURCE_LINK_HEADER),
+            new Header("Content-Type", "application/octet-stream")), new SeededInputStream(size, size)));
+
+        final long full = System.nanoTime();
+        for (int i = 0; i < params.getBinarySamples(); i++) {
+            final long t = System.nanoTime();
+            doGet(location, new OutputStream() {
+                @Override
+                public void write(final int b) {
+                }
+
+                @Override
+                public void write(final byte[] bytes, final int offset, final int count) {
+                }
+            });
+            result.histogram("full").record(System.nanoTime() - t);
+        }
+        final long fullNanos = System.nanoTime() - full;
+
+        final AtomicInteger remaining = new AtomicInteger(requests);
+        final ExecutorService workers = Executors.newFixedThreadPool(concurrency, r -> {
+            final Thread thread = new Thread(r, "range-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long start = System.nanoTime();
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        readRange(location, size, length);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        final long rangeNanos = System.nanoTime() - start;
+        result.setElapsedNanos(rangeNanos);
+        doDelete(location);
+
+        final double rangeRate = requests * (double) length / 1e6 / (rangeNanos / 1e9);
+        final double fullRate = result.histogram("full").getCount() * (double) size / 1e6 / (fullNanos / 1e9);
+        result.setCounter("errors", errors.get());
+        result.setCounter("concurrency", concurrency);
+        result.setCounter("range bytes", length);
+        result.setCounter("range MB/s", Math.round(rangeRate));
+        result.setCounter("full MB/s", Math.round(fullRate));
+
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%.1f ranges/s (%.1f MB/s) of %d bytes with %d workers; " +
+                                         "full GET %.1f MB/s", result.getThroughput("range"), rangeRate, length,
+                                         concurrency, fullRate));
+        return result;
+    }
+
+    private void readRange(final String location, final long size, final int length) {
+        final long first = ThreadLocalRandom.current().nextLong(size - length + 1);
+        final long last = first + length - 1;
+        final long t = System.nanoTime();
+        try {
+            final Response response = doGetUnverified(location, new Header("Range", "bytes=" + first + "-" + last));
+            final int received = response.asByteArray().length;
+            result.histogram("range").record(System.nanoTime() - t);
+            if (response.getStatusCode() != 206 || received != length ||
+                !("bytes " + first + "-" + last + "/" + size).equals(response.getHeader("Content-Range"))) {
+                errors.incrementAndGet();
+            }
+        } catch (final Exception e) {
+            errors.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.binary;
+
+/**
+ * A repeatable sequence of pseudo-random bytes (xorshift64*), so that a payload can be generated on the fly for
+ * upload and generated again to check a download, without ever being held in memory or written to disk.
+ *
+ * @author agent
+ */
+final class SeededBytes {
+
+    private long state;
+
+    private long word;
+
+    private int available;
+
+    /**
+     * @param seed the seed; the same seed always gives the same sequence
+     */
+    SeededBytes(final long seed) {
+        // xorshift never leaves the all-zero state, so mix the seed first
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        state = z == 0 ? 1 : z;
+    }
+
+    /**
+     * Write the next bytes of the sequence
+     *
+     * @param bytes the destination
+     * @param offset where to start writing
+     * @param length how many bytes to write
+     */
+    void fill(final byte[] bytes, final int offset, final int length) {
+        int i = offset;
+        final int end = offset + length;
+        while (i < end && available > 0) {
+            bytes[i++] = (byte) word;
+            word >>>= 8;
+            available--;
+        }
+        while (end - i >= 8) {
+            long next = next();
+            for (int j = 0; j < 8; j++) {
+                bytes[i++] = (byte) next;
+                next >>>= 8;
+            }
+        }
+        if (i < end) {
+            word = next();
+            available = 8;
+            while (i < end) {
+                bytes[i++] = (byte) word;
+                word >>>= 8;
+                available--;
+            }
+        }
+    }
+
+    private long next() {
+        state ^= state >>> 12;
+        state ^= state << 25;
+        state ^= state >>> 27;
+        return state * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.binary;
+
+import java.io.InputStream;
+
+/**
+ * A payload of a given length generated from a seed as it is read.
+ *
+ * @author agent
+ */
+public class SeededInputStream extends InputStream {
+
+    private final SeededBytes bytes;
+
+    private long remaining;
+
+    private final byte[] single = new byte[1];
+
+    /**
+     * Constructor
+     *
+     * @param seed the seed of the content
+     * @param length the number of bytes in the payload
+     */
+    public SeededInputStream(final long seed, final long length) {
+        this.bytes = new SeededBytes(seed);
+        this.remaining = length;
+    }
+
+    @Override
+    public int read() {
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) {
+        if (length == 0) {
+            return 0;
+        }
+        if (remaining <= 0) {
+            return -1;
+        }
+        final int count = (int) Math.min(length, remaining);
+        bytes.fill(buffer, offset, count);
+        remaining -= count;
+        return count;
+    }
+}
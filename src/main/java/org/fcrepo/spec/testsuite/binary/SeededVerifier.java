@@ -0,0 +1,91 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.binary;
+
+import java.io.OutputStream;
+
+/**
+ * Checks, as it is written, that a download matches the payload of a {@link SeededInputStream} with the same seed
+ * and length.
+ *
+ * @author agent
+ */
+public class SeededVerifier extends OutputStream {
+
+    private final SeededBytes expected;
+
+    private final long length;
+
+    private byte[] buffer = new byte[0];
+
+    private long received;
+
+    private long firstMismatch = -1;
+
+    /**
+     * Constructor
+     *
+     * @param seed the seed of the expected content
+     * @param length the expected number of bytes
+     */
+    public SeededVerifier(final long seed, final long length) {
+        this.expected = new SeededBytes(seed);
+        this.length = length;
+    }
+
+    @Override
+    public void write(final int b) {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int count) {
+        if (buffer.length < count) {
+            buffer = new byte[count];
+        }
+        expected.fill(buffer, 0, count);
+        if (firstMismatch < 0) {
+            for (int i = 0; i < count; i++) {
+                if (bytes[offset + i] != buffer[i]) {
+                    firstMismatch = received + i;
+                    break;
+                }
+            }
+        }
+        received += count;
+    }
+
+    /**
+     * @return the number of bytes received
+     */
+    public long getReceived() {
+        return received;
+    }
+
+    /**
+     * @return null if everything expected was received, otherwise a description of the difference
+     */
+    public String getMismatch() {
+        if (firstMismatch >= 0 && firstMismatch < length) {
+            return "content differs from byte " + firstMismatch;
+        } else if (received != length) {
+            return "received " + received + " bytes rather than " + length;
+        }
+        return null;
+    }
+}
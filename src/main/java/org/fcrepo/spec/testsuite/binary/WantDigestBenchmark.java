@@ -0,0 +1,164 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.binary;
+
+import static org.fcrepo.spec.testsuite.Constants.NON_RDF_SOURCE_LINK_HEADER;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.fcrepo.spec.testsuite.AbstractTest;
+import org.fcrepo.spec.testsuite.TestParameters;
+import org.fcrepo.spec.testsuite.benchmark.Benchmark;
+import org.fcrepo.spec.testsuite.benchmark.BenchmarkResult;
+
+/**
+ * Measures how much longer the repository takes to answer a GET of an LDP-NR when a Want-Digest header asks it for
+ * the md5, sha, sha-256 or sha-512 of the content, compared with a plain GET.  The timed requests discard the body,
+ * so that client-side hashing is not counted; one further request per algorithm checks the Digest returned against
+ * the content as it is downloaded.
+ * <p>
+ * Operations are named "&lt;size&gt;MiB &lt;algorithm&gt;", with "none" for the plain GET, and
+ * "&lt;size&gt;MiB &lt;algorithm&gt; first byte" for the time until the body starts to arrive.
+ *
+ * @author agent
+ */
+public class WantDigestBenchmark extends AbstractTest implements Benchmark {
+
+    private static final String DEFAULT_SIZES = "16,256";
+
+    private static final String NONE = "none";
+
+    private static final List<String> ALGORITHMS = Arrays.asList(NONE, "md5", "sha", "sha-256", "sha-512");
+
+    private static final long MIB = 1024 * 1024;
+
+    private BenchmarkResult result;
+
+    @Override
+    public String getName() {
+        return "want-digest";
+    }
+
+    @Override
+    public BenchmarkResult run() throws Exception {
+        final TestParameters params = TestParameters.get();
+        final List<Integer> sizes = LargeBinaryBenchmark.parseSizes(
+            params.getBinarySizes().isEmpty() ? DEFAULT_SIZES : params.getBinarySizes());
+        final int samples = params.getBinarySamples();
+        if (samples < 1) {
+            throw new RuntimeException(TestParameters.BINARY_SAMPLES_PARAM + " must be at least 1");
+        }
+
+        result = new BenchmarkResult(getName());
+        final long start = System.nanoTime();
+        long failures = 0;
+        final List<String> summary = new ArrayList<>();
+        for (final int size : sizes) {
+            final String step = size + "MiB";
+            final String location = getLocation(doPost(uri, new Headers(
+                new Header("Link", NON_RDF_SOURCE_LINK_HEADER),
+                new Header("Content-Type", "application/octet-stream")), new SeededInputStream(size, size * MIB)));
+
+            final List<String> supported = new ArrayList<>();
+            for (final String algorithm : ALGORITHMS) {
+                if (algorithm.equals(NONE)) {
+                    supported.add(algorithm);
+                    continue;
+                }
+                final DigestVerifier verifier = new DigestVerifier(algorithm);
+                final Response response = doGetUnverified(location, verifier, new Header("Want-Digest", algorithm));
+                if (response.statusCode() != 200) {
+                    result.setCounter(step + " " + algorithm + " status", response.statusCode());
+                    continue;
+                }
+                supported.add(algorithm);
+                final String mismatch = verifier.getMismatch(response.getHeaders());
+                if (mismatch != null) {
+                    failures++;
+                    System.err.println(algorithm + " of " + location + ": " + mismatch);
+                }
+            }
+
+            // Rotate the order on each pass so that no algorithm always follows another
+            for (int i = 0; i < samples; i++) {
+                for (int j = 0; j < supported.size(); j++) {
+                    measure(location, step, supported.get((i + j) % supported.size()));
+                }
+            }
+            doDelete(location);
+
+            final long baseline = result.histogram(step + " " + NONE).getValueAtPercentile(50);
+            for (final String algorithm : supported) {
+                final long median = result.histogram(step + " " + algorithm).getValueAtPercentile(50);
+                final long firstByte = result.histogram(step + " " + algorithm + " first byte")
+                                             .getValueAtPercentile(50);
+                summary.add(String.format(Locale.ROOT, "%10d %-8s %12.2f %14.2f %12.2f", size, algorithm,
+                                          median / 1e6, firstByte / 1e6, (median - baseline) / 1e6));
+            }
+        }
+        result.setElapsedNanos(System.nanoTime() - start);
+        result.setCounter("digest mismatches", failures);
+
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%10s %-8s %12s %14s %12s", "size MiB", "digest",
+                                         "p50 ms", "first byte ms", "extra ms"));
+        summary.forEach(System.out::println);
+        return result;
+    }
+
+    private void measure(final String location, final String step, final String algorithm) {
+        final FirstByteSink sink = new FirstByteSink();
+        final long start = System.nanoTime();
+        if (algorithm.equals(NONE)) {
+            doGet(location, sink);
+        } else {
+            doGet(location, sink, new Header("Want-Digest", algorithm));
+        }
+        final long elapsed = System.nanoTime() - start;
+        result.histogram(step + " " + algorithm).record(elapsed);
+        result.histogram(step + " " + algorithm + " first byte")
+              .record(sink.firstByte > 0 ? sink.firstByte - start : elapsed);
+    }
+
+    /**
+     * Discards the body, noting when it started to arrive
+     */
+    private static class FirstByteSink extends OutputStream {
+
+        private long firstByte;
+
+        @Override
+        public void write(final int b) {
+            write(null, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            if (firstByte == 0) {
+                firstByte = System.nanoTime();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.cache;
+
+import static org.fcrepo.spec.testsuite.Constants.APPLICATION_SPARQL_UPDATE;
+import static org.fcrepo.spec.testsuite.Constants.NON_RDF_SOURCE_LINK_HEADER;
+import static org.fcrepo.spec.testsuite.Constants.RDF_BODY;
+import static org.fcrepo.spec.testsuite.Constants.RDF_SOURCE_LINK_HEADER;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.fcrepo.spec.testsuite.AbstractTest;
+import org.fcrepo.spec.testsuite.TestParameters;
+import org.fcrepo.spec.testsuite.benchmark.Benchmark;
+import org.fcrepo.spec.testsuite.benchmark.BenchmarkResult;
+import org.fcrepo.spec.testsuite.binary.SeededInputStream;
+
+/**
+ * Measures what conditional GETs save.  For an RDF source and a 1 MiB LDP-NR it alternates unconditional GETs with
+ * GETs carrying If-None-Match and the current ETag, recording the latency of each, how often the server answers 304
+ * and how many body bytes that saves.  It then changes each resource, with PATCH and PUT respectively, and checks
+ * that the ETag (and X-State-Token, if the server sends one) changes and that the old ETag no longer gets a 304.
+ * <p>
+ * Operations are named "&lt;kind&gt; get" and "&lt;kind&gt; conditional get", kind being "rdf" or "binary".
+ *
+ * @author agent
+ */
+public class ConditionalRequestBenchmark extends AbstractTest implements Benchmark {
+
+    private static final String STATE_TOKEN = "X-State-Token";
+
+    private static final long BINARY_SIZE = 1024 * 1024;
+
+    private static final String SPARQL_UPDATE = "prefix dc: <http://purl.org/dc/elements/1.1/> " +
+                                                "INSERT { <> dc:description \"changed\" } WHERE {}";
+
+    private BenchmarkResult result;
+
+    private final List<String> summary = new ArrayList<>();
+
+    @Override
+    public String getName() {
+        return "conditional-get";
+    }
+
+    @Override
+    public BenchmarkResult run() throws Exception {
+        final TestParameters params = TestParameters.get();
+        result = new BenchmarkResult(getName());
+        final long start = System.nanoTime();
+
+        final String rdf = getLocation(doPost(uri, new Headers(new Header("Link", RDF_SOURCE_LINK_HEADER),
+                                                               new Header("Content-Type", "text/turtle")), RDF_BODY));
+        measure("rdf", rdf, params.getBenchmarkWarmup(), params.getBenchmarkIterations());
+        checkValidatorsChange("rdf", rdf, "PATCH", () -> doPatch(rdf, new Headers(
+            new Header("Content-Type", APPLICATION_SPARQL_UPDATE)), SPARQL_UPDATE));
+
+        final String binary = getLocation(doPost(uri, new Headers(
+            new Header("Link", NON_RDF_SOURCE_LINK_HEADER),
+            new Header("Content-Type", "application/octet-stream")), new SeededInputStream(1, BINARY_SIZE)));
+        measure("binary", binary, params.getBenchmarkWarmup(), params.getBenchmarkIterations());
+        checkValidatorsChange("binary", binary, "PUT", () -> doPut(binary, new Headers(
+            new Header("Content-Type", "text/plain")), "changed"));
+
+        result.setElapsedNanos(System.nanoTime() - start);
+
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-8s %10s %16s %10s %14s %14s", "kind", "get p50 ms",
+                                         "conditional p50", "304 %", "bytes per get", "bytes saved"));
+        summary.forEach(System.out::println);
+        return result;
+    }
+
+    /**
+     * Alternate unconditional and conditional GETs of a resource, after the given number of unmeasured pairs
+     */
+    private void measure(final String kind, final String location, final int warmup, final int iterations) {
+        final String etag = getETag(doGet(location));
+        if (etag == null) {
+            throw new RuntimeException("No ETag on " + location + "; conditional GETs cannot be measured");
+        }
+        final Header ifNoneMatch = new Header("If-None-Match", etag);
+
+        long fullBytes = 0;
+        long conditionalBytes = 0;
+        long notModified = 0;
+        for (int i = 0; i < warmup + iterations; i++) {
+            final boolean measured = i >= warmup;
+
+            long t = System.nanoTime();
+            final int bytes = doGet(location).asByteArray().length;
+            if (measured) {
+                result.histogram(kind + " get").record(System.nanoTime() - t);
+                fullBytes += bytes;
+            }
+
+            t = System.nanoTime();
+            final Response response = doGetUnverified(location, ifNoneMatch);
+            final int received = response.asByteArray().length;
+            if (measured) {
+                result.histogram(kind + " conditional get").record(System.nanoTime() - t);
+                conditionalBytes += received;
+                if (response.getStatusCode() == 304) {
+                    notModified++;
+                }
+            }
+        }
+
+        final long perGet = iterations > 0 ? fullBytes / iterations : 0;
+        final long saved = fullBytes - conditionalBytes;
+        final long percent = iterations > 0 ? notModified * 100 / iterations : 0;
+        result.setCounter(kind + " 304 percent", percent);
+        result.setCounter(kind + " bytes per get", perGet);
+        result.setCounter(kind + " bytes saved", saved);
+        summary.add(String.format(Locale.ROOT, "%-8s %10.2f %16.2f %10d %14d %14d", kind,
+                                  result.histogram(kind + " get").getValueAtPercentile(50) / 1e6,
+                                  result.histogram(kind + " conditional get").getValueAtPercentile(50) / 1e6,
+                                  percent, perGet, saved));
+    }
+
+    /**
+     * Change a resource and check that its validators change with it.  The outcomes are recorded as counters, 1
+     * for yes and 0 for no, and any failure is also printed.
+     */
+    private void checkValidatorsChange(final String kind, final String location, final String method,
+                                       final Runnable change) {
+        final Response before = doGet(location);
+        final String etag = getETag(before);
+        final String stateToken = before.getHeader(STATE_TOKEN);
+
+        change.run();
+
+        final Response after = doGetUnverified(location, new Header("If-None-Match", etag));
+        final boolean etagChanged = after.getStatusCode() == 200 && !etag.equals(getETag(after));
+        result.setCounter(kind + " etag changed after " + method, etagChanged ? 1 : 0);
+        if (!etagChanged) {
+            System.err.println("ETag of " + location + " did not change after " + method + ": status " +
+                               after.getStatusCode() + ", ETag " + getETag(after));
+        }
+        if (stateToken != null) {
+            final boolean tokenChanged = !stateToken.equals(doGet(location).getHeader(STATE_TOKEN));
+            result.setCounter(kind + " state token changed after " + method, tokenChanged ? 1 : 0);
+            if (!tokenChanged) {
+                System.err.println(STATE_TOKEN + " of " + location + " did not change after " + method);
+            }
+        }
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.cache;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.BasicAuthScheme;
+import io.restassured.authentication.ExplicitNoAuthScheme;
+import io.restassured.authentication.NoAuthScheme;
+import io.restassured.authentication.PreemptiveBasicAuthScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.client.utils.DateUtils;
+import org.fcrepo.spec.testsuite.TestParameters;
+
+/**
+ * An opt-in, in-memory client cache of GET and HEAD responses in the style of RFC 7234, installed as a RestAssured
+ * filter in front of the request helpers so that lookups made only to navigate (the acl Link of a resource, the
+ * describedby Link of an LDP-NR, a timemap) do not transfer the same representation again and again.
+ * <p>
+ * Only 200 responses are stored, keyed by method, URI, request headers and user, and never when the request or
+ * response says no-store or the response varies on *.  A stored response is reused without contacting the server
+ * while it is fresh, by its Cache-Control max-age, its Expires header or, failing those, the configured heuristic
+ * lifetime; after that a GET is revalidated with If-None-Match or If-Modified-Since and a 304 refreshes the stored
+ * response.  Requests with their own conditional, Range or Cache-Control headers always go to the server.
+ * <p>
+ * Any other method invalidates the stored responses of its URI, of the resources beneath it (including fcr:acl and
+ * fcr:metadata), of its parent container and of the Location and Content-Location of its response.
+ *
+ * @author agent
+ */
+public class ResponseCache implements Filter {
+
+    private static final String[] BYPASS_HEADERS = {"If-None-Match", "If-Match", "If-Modified-Since",
+                                                    "If-Unmodified-Since", "If-Range", "Range", "Cache-Control",
+                                                    "Pragma"};
+
+    private static ResponseCache instance;
+
+    private final long heuristicMillis;
+
+    /**
+     * Stored responses by normalized URI, then by method, headers and user
+     */
+    private final ConcurrentNavigableMap<String, ConcurrentMap<String, Entry>> entries =
+        new ConcurrentSkipListMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong revalidations = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Create the cache if the test parameters enable it.
+     *
+     * @param params the test parameters
+     */
+    public static void initialize(final TestParameters params) {
+        if (instance != null) {
+            throw new IllegalStateException("The response cache has already been initialized.");
+        }
+        if (params.isHttpCacheEnabled()) {
+            instance = new ResponseCache(params.getHttpCacheMaxAge());
+        }
+    }
+
+    /**
+     * Return the singleton
+     *
+     * @return the instance, or null if the cache is not enabled
+     */
+    public static ResponseCache get() {
+        return instance;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param heuristicSeconds how long a response without Cache-Control max-age or Expires stays fresh
+     */
+    ResponseCache(final int heuristicSeconds) {
+        this.heuristicMillis = TimeUnit.SECONDS.toMillis(heuristicSeconds);
+    }
+
+    @Override
+    public Response filter(final FilterableRequestSpecification requestSpec,
+                           final FilterableResponseSpecification responseSpec, final FilterContext ctx) {
+        final String method = requestSpec.getMethod().toUpperCase(Locale.ROOT);
+        final String uri = normalize(requestSpec.getURI());
+        if (!method.equals("GET") && !method.equals("HEAD")) {
+            final Response response = ctx.next(requestSpec, responseSpec);
+            if (!method.equals("OPTIONS")) {
+                invalidate(uri);
+                invalidate(parent(uri));
+                invalidateLocation(uri, response.getHeader("Location"));
+                invalidateLocation(uri, response.getHeader("Content-Location"));
+            }
+            return response;
+        }
+
+        final String key = key(requestSpec);
+        if (key == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        final long now = System.currentTimeMillis();
+        final ConcurrentMap<String, Entry> variants = entries.get(uri);
+        final Entry stored = variants == null ? null : variants.get(method + key);
+        if (stored != null && stored.isFresh(now)) {
+            hits.incrementAndGet();
+            return stored.toResponse(method);
+        }
+        if (method.equals("HEAD") && variants != null) {
+            final Entry get = variants.get("GET" + key);
+            if (get != null && get.isFresh(now)) {
+                hits.incrementAndGet();
+                return get.toResponse(method);
+            }
+        }
+
+        final boolean revalidating = method.equals("GET") && stored != null && stored.addValidators(requestSpec);
+        final Response response = ctx.next(requestSpec, responseSpec);
+        if (revalidating && response.getStatusCode() == 304) {
+            revalidations.incrementAndGet();
+            final Entry refreshed = stored.refresh(response.getHeaders(), System.currentTimeMillis(),
+                                                   heuristicMillis);
+            entries.computeIfAbsent(uri, u -> new ConcurrentHashMap<>()).put(method + key, refreshed);
+            return refreshed.toResponse(method);
+        }
+
+        misses.incrementAndGet();
+        final Entry entry = Entry.store(response, now, heuristicMillis);
+        if (entry != null) {
+            entries.computeIfAbsent(uri, u -> new ConcurrentHashMap<>()).put(method + key, entry);
+        } else if (variants != null) {
+            variants.remove(method + key);
+        }
+        return response;
+    }
+
+    /**
+     * @return the number of requests answered without contacting the server
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of requests answered by a 304 to a conditional request made by the cache
+     */
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    /**
+     * @return the number of cacheable requests which transferred a full response
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of stored URIs removed because of a write
+     */
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * Remove the stored responses of a URI and of everything beneath it
+     */
+    private void invalidate(final String uri) {
+        if (uri == null) {
+            return;
+        }
+        if (entries.remove(uri) != null) {
+            invalidations.incrementAndGet();
+        }
+        // '0' is the character after '/', so this is every URI beginning with uri + "/"
+        final Map<String, ?> beneath = entries.subMap(uri + "/", uri + "0");
+        invalidations.addAndGet(beneath.size());
+        beneath.clear();
+    }
+
+    private void invalidateLocation(final String requestUri, final String location) {
+        if (location != null) {
+            invalidate(normalize(URI.create(requestUri).resolve(location).toString()));
+        }
+    }
+
+    /**
+     * Return the part of the cache key besides method and URI: the user and the request headers in a stable order,
+     * or null if the request must go to the server.
+     */
+    private static String key(final FilterableRequestSpecification requestSpec) {
+        for (final String name : BYPASS_HEADERS) {
+            if (requestSpec.getHeaders().hasHeaderWithName(name)) {
+                return null;
+            }
+        }
+        final String user = user(requestSpec.getAuthenticationScheme());
+        if (user == null) {
+            return null;
+        }
+        final Map<String, List<String>> headers = new TreeMap<>();
+        for (final Header header : requestSpec.getHeaders()) {
+            headers.computeIfAbsent(header.getName().toLowerCase(Locale.ROOT), n -> new ArrayList<>())
+                   .add(header.getValue());
+        }
+        return " " + user + " " + headers;
+    }
+
+    /**
+     * Return the user of a request for the cache key, "" if the credentials are all in the headers, or null for
+     * authentication schemes which cannot be told apart.
+     */
+    private static String user(final AuthenticationScheme scheme) {
+        if (scheme instanceof BasicAuthScheme) {
+            return ((BasicAuthScheme) scheme).getUserName();
+        } else if (scheme instanceof PreemptiveBasicAuthScheme) {
+            return ((PreemptiveBasicAuthScheme) scheme).getUserName();
+        } else if (scheme == null || scheme instanceof NoAuthScheme || scheme instanceof ExplicitNoAuthScheme) {
+            return "";
+        }
+        return null;
+    }
+
+    private static String normalize(final String uri) {
+        String normalized = uri;
+        final int fragment = normalized.indexOf('#');
+        if (fragment >= 0) {
+            normalized = normalized.substring(0, fragment);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    private static String parent(final String uri) {
+        final int query = uri.indexOf('?');
+        final String path = query >= 0 ? uri.substring(0, query) : uri;
+        final int slash = path.lastIndexOf('/');
+        return slash > path.indexOf("//") + 1 ? path.substring(0, slash) : null;
+    }
+
+    /**
+     * A stored response
+     */
+    private static class Entry {
+
+        private final int statusCode;
+
+        private final String statusLine;
+
+        private final Headers headers;
+
+        private final byte[] body;
+
+        private final long expires;
+
+        private Entry(final int statusCode, final String statusLine, final Headers headers, final byte[] body,
+                      final long expires) {
+            this.statusCode = statusCode;
+            this.statusLine = statusLine;
+            this.headers = headers;
+            this.body = body;
+            this.expires = expires;
+        }
+
+        /**
+         * Return the entry for a response, or null if it may not be stored
+         */
+        static Entry store(final Response response, final long now, final long heuristicMillis) {
+            if (response.getStatusCode() != 200 || hasDirective(response.getHeaders(), "no-store") ||
+                response.getHeaders().getValues("Vary").stream().anyMatch(v -> v.trim().equals("*"))) {
+                return null;
+            }
+            return new Entry(response.getStatusCode(), response.getStatusLine(), response.getHeaders(),
+                             response.asByteArray(), expires(response.getHeaders(), now, heuristicMillis));
+        }
+
+        boolean isFresh(final long now) {
+            return now < expires;
+        }
+
+        /**
+         * Add the validators of the stored response to a request
+         *
+         * @return whether there were any
+         */
+        boolean addValidators(final FilterableRequestSpecification requestSpec) {
+            final String etag = headers.getValue("ETag");
+            final String lastModified = headers.getValue("Last-Modified");
+            if (etag != null) {
+                requestSpec.header("If-None-Match", etag);
+            } else if (lastModified != null) {
+                requestSpec.header("If-Modified-Since", lastModified);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Return the entry updated with the headers of a 304 response to its revalidation
+         */
+        Entry refresh(final Headers notModified, final long now, final long heuristicMillis) {
+            final List<Header> merged = new ArrayList<>();
+            for (final Header header : headers) {
+                if (!notModified.hasHeaderWithName(header.getName())) {
+                    merged.add(header);
+                }
+            }
+            for (final Header header : notModified) {
+                if (!header.getName().equalsIgnoreCase("Content-Length")) {
+                    merged.add(header);
+                }
+            }
+            final Headers updated = new Headers(merged);
+            return new Entry(statusCode, statusLine, updated, body, expires(updated, now, heuristicMillis));
+        }
+
+        Response toResponse(final String method) {
+            final ResponseBuilder builder = new ResponseBuilder().setStatusCode(statusCode).setStatusLine(statusLine);
+            // Set the content type first, as setContentType adds a header which setHeaders then replaces
+            final String contentType = headers.getValue("Content-Type");
+            if (contentType != null) {
+                builder.setContentType(contentType);
+            }
+            return builder.setHeaders(headers).setBody(method.equals("HEAD") ? new byte[0] : body).build();
+        }
+
+        /**
+         * Return when a response stops being fresh, by its Cache-Control max-age, its Expires header or else the
+         * heuristic lifetime
+         */
+        private static long expires(final Headers headers, final long now, final long heuristicMillis) {
+            if (hasDirective(headers, "no-cache")) {
+                return now;
+            }
+            final long age = parseSeconds(headers.getValue("Age"), 0);
+            for (final Header header : headers.getList("Cache-Control")) {
+                for (final String directive : header.getValue().split(",")) {
+                    final String[] parts = directive.trim().split("=", 2);
+                    if (parts.length == 2 && parts[0].trim().equalsIgnoreCase("max-age")) {
+                        return now + TimeUnit.SECONDS.toMillis(parseSeconds(parts[1].trim(), 0) - age);
+                    }
+                }
+            }
+            final Date expires = parseDate(headers.getValue("Expires"));
+            if (headers.hasHeaderWithName("Expires")) {
+                final Date date = parseDate(headers.getValue("Date"));
+                if (expires == null) {
+                    return now;
+                }
+                return now + expires.getTime() - (date != null ? date.getTime() : now) - TimeUnit.SECONDS.toMillis(age);
+            }
+            if (hasDirective(headers, "must-revalidate")) {
+                return now;
+            }
+            return now + heuristicMillis;
+        }
+
+        private static boolean hasDirective(final Headers headers, final String name) {
+            for (final Header header : headers.getList("Cache-Control")) {
+                for (final String directive : header.getValue().split(",")) {
+                    if (directive.trim().split("=", 2)[0].trim().equalsIgnoreCase(name)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static long parseSeconds(final String value, final long defaultValue) {
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Long.parseLong(value.trim().replace("\"", ""));
+            } catch (final NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+
+        private static Date parseDate(final String value) {
+            return value == null ? null : DateUtils.parseDate(value);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.compare;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.cli.BasicParser;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.fcrepo.spec.testsuite.metrics.LatencyHistogram;
+import org.fcrepo.spec.testsuite.metrics.MannWhitney;
+
+/**
+ * Compares the timing data of earlier runs of the suite and flags regressions.
+ * <p>
+ * The last directory given is the candidate; the directories before it are pooled as the baseline.  A latency (of
+ * the requests made by each test class, of each test, or of each benchmark operation) has regressed when its median
+ * has grown by more than the threshold and a Mann-Whitney U test finds the difference significant.  The significance
+ * level applies to the latency comparisons as a family (Holm-Bonferroni), so comparing hundreds of measures does not
+ * by itself produce spurious regressions.  A benchmark's
+ * throughput has regressed when its mean over the runs has fallen by more than the threshold; with one figure per run
+ * it is not tested for significance.
+ *
+ * @author agent
+ */
+public class RunComparison {
+
+    /**
+     * The command which selects the comparison instead of a run of the suite
+     */
+    public static final String COMPARE_COMMAND = "compare";
+
+    public static final String THRESHOLD_PARAM = "threshold";
+
+    public static final String ALPHA_PARAM = "alpha";
+
+    public static final String ALL_PARAM = "all";
+
+    /**
+     * Exit status when at least one regression was found
+     */
+    public static final int REGRESSION_STATUS = 1;
+
+    /**
+     * Exit status when the arguments or the result directories are unusable
+     */
+    public static final int ERROR_STATUS = 2;
+
+    private final double threshold;
+
+    private final double alpha;
+
+    private final boolean all;
+
+    private final PrintStream out;
+
+    private final List<Row> rows = new ArrayList<>();
+
+    private RunComparison(final double threshold, final double alpha, final boolean all, final PrintStream out) {
+        this.threshold = threshold;
+        this.alpha = alpha;
+        this.all = all;
+        this.out = out;
+    }
+
+    /**
+     * Run the comparison described by the command line arguments which follow {@link #COMPARE_COMMAND}
+     *
+     * @param args the arguments
+     * @return the exit status: 0 if there were no regressions, {@link #REGRESSION_STATUS} or {@link #ERROR_STATUS}
+     */
+    public static int run(final String[] args) {
+        final Options options = new Options();
+        options.addOption(new Option(null, THRESHOLD_PARAM, true,
+                                     "Percentage by which a median latency must grow, or a throughput fall, to be " +
+                                     "a regression (defaults to 10)."));
+        options.addOption(new Option(null, ALPHA_PARAM, true,
+                                     "Significance level of the Mann-Whitney U test applied to latencies " +
+                                     "(defaults to 0.05)."));
+        options.addOption(new Option(null, ALL_PARAM, false, "Print every comparison, not only the changes."));
+
+        final double threshold;
+        final double alpha;
+        final CommandLine cmd;
+        try {
+            cmd = new BasicParser().parse(options, args);
+            threshold = Double.parseDouble(cmd.getOptionValue(THRESHOLD_PARAM, "10")) / 100;
+            alpha = Double.parseDouble(cmd.getOptionValue(ALPHA_PARAM, "0.05"));
+        } catch (final ParseException | NumberFormatException e) {
+            return usage(e.getMessage(), options);
+        }
+        if (cmd.getArgs().length < 2) {
+            return usage("At least two result directories are required", options);
+        }
+
+        final RunData baseline = new RunData();
+        final RunData candidate = new RunData();
+        try {
+            for (int i = 0; i < cmd.getArgs().length; i++) {
+                (i < cmd.getArgs().length - 1 ? baseline : candidate).load(new File(cmd.getArgs()[i]));
+            }
+        } catch (final IOException e) {
+            System.err.println("Unable to read results: " + e.getMessage());
+            return ERROR_STATUS;
+        }
+
+        final RunComparison comparison = new RunComparison(threshold, alpha, cmd.hasOption(ALL_PARAM), System.out);
+        return comparison.compare(baseline, candidate) > 0 ? REGRESSION_STATUS : 0;
+    }
+
+    /**
+     * @return the number of regressions
+     */
+    private int compare(final RunData baseline, final RunData candidate) {
+        for (final Map.Entry<String, LatencyHistogram> entry : baseline.getLatencies().entrySet()) {
+            final LatencyHistogram before = entry.getValue();
+            final LatencyHistogram after = candidate.getLatencies().get(entry.getKey());
+            if (after != null && after.getCount() > 0 && before.getCount() > 0) {
+                rows.add(new Row(entry.getKey() + " p50 ms", before.getValueAtPercentile(50) / 1e6,
+                                 after.getValueAtPercentile(50) / 1e6, MannWhitney.pValue(before, after), false));
+            }
+        }
+        for (final Map.Entry<String, List<Double>> entry : baseline.getThroughputs().entrySet()) {
+            final List<Double> after = candidate.getThroughputs().get(entry.getKey());
+            if (after != null) {
+                rows.add(new Row(entry.getKey() + " ops/s", mean(entry.getValue()), mean(after), Double.NaN, true));
+            }
+        }
+        markSignificant();
+
+        out.println();
+        out.println(String.format(Locale.ROOT, "Comparing %d baseline run(s) with %d candidate run(s)",
+                                  baseline.getRuns(), candidate.getRuns()));
+        out.println(String.format(Locale.ROOT, "%-11s %12s %12s %8s %8s  %s", "result", "baseline", "candidate",
+                                  "change", "p", "measure"));
+        int regressions = 0;
+        int improvements = 0;
+        for (final Row row : rows) {
+            final String result;
+            if (row.isRegression()) {
+                regressions++;
+                result = "REGRESSION";
+            } else if (row.isImprovement()) {
+                improvements++;
+                result = "improved";
+            } else if (all) {
+                result = "unchanged";
+            } else {
+                continue;
+            }
+            out.println(String.format(Locale.ROOT, "%-11s %12.2f %12.2f %+7.1f%% %8s  %s", result, row.before,
+                                      row.after, row.change * 100, Double.isNaN(row.p) ? "-" :
+                                      String.format(Locale.ROOT, "%.4f", row.p), row.measure));
+        }
+        out.println(String.format(Locale.ROOT, "Compared %d measures: %d regression(s), %d improvement(s) " +
+                                  "(threshold %.0f%%, alpha %s)", rows.size(), regressions, improvements,
+                                  threshold * 100, alpha));
+        out.println();
+        return regressions;
+    }
+
+    /**
+     * Apply the Holm-Bonferroni procedure to the latency comparisons: in increasing order of p-value, each is
+     * significant while its p-value is below alpha divided by the number of comparisons not yet passed.
+     */
+    private void markSignificant() {
+        final List<Row> tested = rows.stream().filter(row -> !row.throughput)
+                                     .sorted(Comparator.comparingDouble(row -> row.p))
+                                     .collect(Collectors.toList());
+        for (int i = 0; i < tested.size(); i++) {
+            if (tested.get(i).p >= alpha / (tested.size() - i)) {
+                break;
+            }
+            tested.get(i).significant = true;
+        }
+    }
+
+    private static double relativeChange(final double before, final double after) {
+        if (before == 0) {
+            return after == 0 ? 0 : Double.POSITIVE_INFINITY;
+        }
+        return (after - before) / before;
+    }
+
+    private static double mean(final List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+    }
+
+    private static int usage(final String message, final Options options) {
+        System.err.println(message);
+        new HelpFormatter().printHelp("java -jar testSuite-shaded.jar " + COMPARE_COMMAND +
+                                      " [options] <baseline-dir>... <candidate-dir>", options);
+        return ERROR_STATUS;
+    }
+
+    /**
+     * A single comparison of a measure between the baseline and the candidate
+     */
+    private class Row {
+
+        private final String measure;
+        private final double before;
+        private final double after;
+        private final double change;
+        private final double p;
+        private final boolean throughput;
+        private boolean significant;
+
+        Row(final String measure, final double before, final double after, final double p,
+            final boolean throughput) {
+            this.measure = measure;
+            this.before = before;
+            this.after = after;
+            this.change = relativeChange(before, after);
+            this.p = p;
+            this.throughput = throughput;
+        }
+
+        boolean isRegression() {
+            return throughput ? change < -threshold : significant && change > threshold;
+        }
+
+        boolean isImprovement() {
+            return throughput ? change > threshold : significant && change < -threshold;
+        }
+    }
+}
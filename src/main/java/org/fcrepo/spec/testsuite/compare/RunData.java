@@ -0,0 +1,133 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.compare;
+
+import static org.fcrepo.spec.testsuite.TestSuiteGlobals.outputName;
+import static org.fcrepo.spec.testsuite.TestSuiteGlobals.reportOutputDirectory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.fcrepo.spec.testsuite.metrics.HistogramJson;
+import org.fcrepo.spec.testsuite.metrics.LatencyHistogram;
+
+/**
+ * The timing data of one or more runs of the suite: latency histograms and throughput figures by name.  Latencies
+ * from several runs are pooled; throughput keeps one figure per run.
+ *
+ * @author agent
+ */
+class RunData {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String BENCHMARK_PREFIX = outputName + "-benchmark-";
+
+    private final Map<String, LatencyHistogram> latencies = new TreeMap<>();
+
+    private final Map<String, List<Double>> throughputs = new TreeMap<>();
+
+    private int runs;
+
+    /**
+     * Add the timing data found in a result directory
+     *
+     * @param directory an output directory of the suite, or the report directory within it
+     * @throws IOException if the directory holds no timing data or it cannot be read
+     */
+    void load(final File directory) throws IOException {
+        final File reports = new File(directory, reportOutputDirectory).isDirectory() ?
+                new File(directory, reportOutputDirectory) : directory;
+        final File[] files = reports.listFiles((dir, name) -> name.endsWith(".json") &&
+                (name.equals(outputName + "-request-latency.json") || name.startsWith(BENCHMARK_PREFIX)));
+        if (files == null || files.length == 0) {
+            throw new IOException("No timing data found in " + directory);
+        }
+        for (final File file : files) {
+            final JsonNode root = MAPPER.readTree(file);
+            if (file.getName().startsWith(BENCHMARK_PREFIX)) {
+                loadBenchmark(root);
+            } else {
+                loadRequests(root);
+            }
+        }
+        runs++;
+    }
+
+    private void loadRequests(final JsonNode root) {
+        for (final JsonNode request : root.path("requests")) {
+            latency("request " + request.path("testClass").asText() + " " + request.path("method").asText() +
+                    " " + request.path("resourceKind").asText()).add(HistogramJson.read(request));
+        }
+        final Iterator<Map.Entry<String, JsonNode>> tests = root.path("tests").fields();
+        while (tests.hasNext()) {
+            final Map.Entry<String, JsonNode> test = tests.next();
+            final LatencyHistogram requests = latency("test " + test.getKey() + " requests");
+            for (final JsonNode nanos : test.getValue().path("latenciesNanos")) {
+                requests.record(nanos.asLong());
+            }
+            // A test's wall time is a single sample per run, too few for the significance test, so it is not compared
+        }
+    }
+
+    private void loadBenchmark(final JsonNode root) {
+        final String benchmark = root.path("benchmark").asText();
+        final Iterator<Map.Entry<String, JsonNode>> operations = root.path("operations").fields();
+        while (operations.hasNext()) {
+            final Map.Entry<String, JsonNode> operation = operations.next();
+            final String name = "benchmark " + benchmark + " " + operation.getKey();
+            latency(name).add(HistogramJson.read(operation.getValue()));
+            if (operation.getValue().has("throughput")) {
+                throughputs.computeIfAbsent(name, k -> new ArrayList<>())
+                           .add(operation.getValue().path("throughput").asDouble());
+            }
+        }
+    }
+
+    private LatencyHistogram latency(final String name) {
+        return latencies.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+     * @return the pooled latency histograms by name
+     */
+    Map<String, LatencyHistogram> getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @return the throughput of each run in operations per second, by name
+     */
+    Map<String, List<Double>> getThroughputs() {
+        return throughputs;
+    }
+
+    /**
+     * @return the number of runs loaded
+     */
+    int getRuns() {
+        return runs;
+    }
+}
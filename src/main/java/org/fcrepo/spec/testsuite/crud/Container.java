@@ -20,12 +20,12 @@ package org.fcrepo.spec.testsuite.crud;
 import io.restassured.http.Header;
 import io.restassured.http.Headers;
 import io.restassured.response.Response;
-import org.apache.commons.io.IOUtils;
-import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ResourceFactory;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.DatasetImpl;
 import org.fcrepo.spec.testsuite.AbstractTest;
+import org.fcrepo.spec.testsuite.FixturePool;
+import org.fcrepo.spec.testsuite.ParsedModelCache;
 import org.fcrepo.spec.testsuite.TestInfo;
 import org.testng.Assert;
 import org.testng.SkipException;
@@ -33,14 +33,13 @@ import org.testng.annotations.Test;
 
 import static org.apache.jena.graph.Node.ANY;
 import static org.apache.jena.graph.NodeFactory.createURI;
-import static org.apache.jena.rdf.model.ModelFactory.createDefaultModel;
 import static org.fcrepo.spec.testsuite.Constants.DIRECT_CONTAINER_BODY;
 import static org.fcrepo.spec.testsuite.Constants.INDIRECT_CONTAINER_BODY;
+import static org.fcrepo.spec.testsuite.FixturePool.Fixture.DIRECT_CONTAINER;
+import static org.fcrepo.spec.testsuite.FixturePool.Fixture.INDIRECT_CONTAINER;
 import static org.testng.Assert.assertTrue;
 import static org.testng.AssertJUnit.fail;
 
-import java.io.InputStream;
-
 /**
  * @author Jorge Abrego, Fernando Cardoza, dbernstein
  */
@@ -52,8 +51,6 @@ public class Container extends AbstractTest {
     private static final String LDP_IS_MEMBER_OF_RELATION_PREDICATE = "http://www.w3.org/ns/ldp#isMemberOfRelation";
     private static final String LDP_MEMBER = "http://www.w3.org/ns/ldp#member";
 
-    private Boolean directContainersSupported = null;
-    private Boolean indirectContainersSupported = null;
     private static final String LDP_INSERTED_CONTENT_RELATION_PREDICATE =
         "http://www.w3.org/ns/ldp#insertedContentRelation";
     private static final String LDP_MEMBER_SUBJECT = "http://www.w3.org/ns/ldp#MemberSubject";
@@ -97,27 +94,13 @@ public class Container extends AbstractTest {
     }
 
     private void skipIfDirectContainersNotSupported() {
-        if (directContainersSupported == null) {
-            final String membershipResource = getLocation(doPost(uri));
-            directContainersSupported =
-                (successRange().matches(createDirectContainerUnverified(uri, DIRECT_CONTAINER_BODY
-                    .replace("%membershipResource%", membershipResource)).getStatusCode()));
-        }
-
-        if (!directContainersSupported) {
+        if (!FixturePool.get().isAvailable(DIRECT_CONTAINER)) {
             throw new SkipException("This implementation does not support DirectContainers");
         }
     }
 
     private void skipIfIndirectContainersNotSupported() {
-        if (indirectContainersSupported == null) {
-            final String membershipResource = getLocation(doPost(uri));
-            indirectContainersSupported =
-                (successRange().matches(createIndirectContainerUnverified(uri, INDIRECT_CONTAINER_BODY
-                    .replace("%membershipResource%", membershipResource)).getStatusCode()));
-        }
-
-        if (!indirectContainersSupported) {
+        if (!FixturePool.get().isAvailable(INDIRECT_CONTAINER)) {
             throw new SkipException("This implementation does not support IndirectContainers");
         }
     }
@@ -351,11 +334,9 @@ public class Container extends AbstractTest {
         final Response directContainer = createDirectContainer(uri, body);
         final String directContainerResource = getLocation(directContainer);
         final String responseBody = doGet(getLocation(directContainer)).getBody().asString();
-        try (CloseableDataset dataset = parseTriples(IOUtils.toInputStream(responseBody))) {
-            final DatasetGraph graph = dataset.asDatasetGraph();
-            assertTrue(graph.contains(ANY, createURI(directContainerResource),
-                                      createURI(LDP_MEMBERSHIP_RESOURCE_PREDICATE), ANY));
-        }
+        final DatasetGraph graph = parseTriples(responseBody);
+        assertTrue(graph.contains(ANY, createURI(directContainerResource),
+                                  createURI(LDP_MEMBERSHIP_RESOURCE_PREDICATE), ANY));
     }
 
     /**
@@ -378,16 +359,8 @@ public class Container extends AbstractTest {
                 LDP_MEMBERSHIP_RESOURCE_PREDICATE, directContainerResource, true);
     }
 
-    private CloseableDataset parseTriples(final InputStream content) {
-        final Model model = createDefaultModel();
-        model.read(content, "", "text/turtle");
-        return new CloseableDataset(model);
-    }
-
-    private class CloseableDataset extends DatasetImpl implements AutoCloseable {
-        private CloseableDataset(final Model model) {
-            super(model);
-        }
+    private DatasetGraph parseTriples(final String content) {
+        return new DatasetImpl(ParsedModelCache.parseTurtle(content)).asDatasetGraph();
     }
 
     /**
@@ -532,15 +505,13 @@ public class Container extends AbstractTest {
         final Response directContainer = createDirectContainer(uri, body);
         final String directContainerResource = getLocation(directContainer);
         final String responseBody = doGet(getLocation(directContainer)).getBody().asString();
-        try (CloseableDataset dataset = parseTriples(IOUtils.toInputStream(responseBody))) {
-            final DatasetGraph graph = dataset.asDatasetGraph();
-            if (!graph
-                .contains(ANY, createURI(directContainerResource), createURI(LDP_HAS_MEMBER_RELATION_PREDICATE), ANY) &&
-                !graph.contains(ANY, createURI(directContainerResource), createURI(LDP_IS_MEMBER_OF_RELATION_PREDICATE),
-                                ANY)) {
-                fail("Neither the " + LDP_HAS_MEMBER_RELATION_PREDICATE + " nor the " +
-                     LDP_IS_MEMBER_OF_RELATION_PREDICATE + " predicate found");
-            }
+        final DatasetGraph graph = parseTriples(responseBody);
+        if (!graph
+            .contains(ANY, createURI(directContainerResource), createURI(LDP_HAS_MEMBER_RELATION_PREDICATE), ANY) &&
+            !graph.contains(ANY, createURI(directContainerResource), createURI(LDP_IS_MEMBER_OF_RELATION_PREDICATE),
+                            ANY)) {
+            fail("Neither the " + LDP_HAS_MEMBER_RELATION_PREDICATE + " nor the " +
+                 LDP_IS_MEMBER_OF_RELATION_PREDICATE + " predicate found");
         }
     }
 
@@ -780,11 +751,9 @@ public class Container extends AbstractTest {
         final Response directContainer = createIndirectContainer(uri, body);
         final String directContainerResource = getLocation(directContainer);
         final String responseBody = doGet(getLocation(directContainer)).getBody().asString();
-        try (CloseableDataset dataset = parseTriples(IOUtils.toInputStream(responseBody))) {
-            final DatasetGraph graph = dataset.asDatasetGraph();
-            assertTrue(graph.contains(ANY, createURI(directContainerResource),
-                                      createURI(LDP_MEMBERSHIP_RESOURCE_PREDICATE), ANY));
-        }
+        final DatasetGraph graph = parseTriples(responseBody);
+        assertTrue(graph.contains(ANY, createURI(directContainerResource),
+                                  createURI(LDP_MEMBERSHIP_RESOURCE_PREDICATE), ANY));
     }
 
     /**
@@ -947,14 +916,12 @@ public class Container extends AbstractTest {
         final Response container = createIndirectContainer(uri, body);
         final String containerResource = getLocation(container);
         final String responseBody = doGet(getLocation(container)).getBody().asString();
-        try (CloseableDataset dataset = parseTriples(IOUtils.toInputStream(responseBody))) {
-            final DatasetGraph graph = dataset.asDatasetGraph();
-            if (!graph.contains(ANY, createURI(containerResource), createURI(LDP_HAS_MEMBER_RELATION_PREDICATE), ANY) &&
-                !graph.contains(ANY, createURI(containerResource), createURI(LDP_IS_MEMBER_OF_RELATION_PREDICATE),
-                                ANY)) {
-                fail("Neither the " + LDP_HAS_MEMBER_RELATION_PREDICATE + " nor the " +
-                     LDP_IS_MEMBER_OF_RELATION_PREDICATE + " predicate found");
-            }
+        final DatasetGraph graph = parseTriples(responseBody);
+        if (!graph.contains(ANY, createURI(containerResource), createURI(LDP_HAS_MEMBER_RELATION_PREDICATE), ANY) &&
+            !graph.contains(ANY, createURI(containerResource), createURI(LDP_IS_MEMBER_OF_RELATION_PREDICATE),
+                            ANY)) {
+            fail("Neither the " + LDP_HAS_MEMBER_RELATION_PREDICATE + " nor the " +
+                 LDP_IS_MEMBER_OF_RELATION_PREDICATE + " predicate found");
         }
     }
 
@@ -1191,12 +1158,10 @@ public class Container extends AbstractTest {
         final Response container = createIndirectContainer(uri, body);
         final String containerResource = getLocation(container);
         final String responseBody = doGet(getLocation(container)).getBody().asString();
-        try (CloseableDataset dataset = parseTriples(IOUtils.toInputStream(responseBody))) {
-            final DatasetGraph graph = dataset.asDatasetGraph();
-            if (!graph
-                .contains(ANY, createURI(containerResource), createURI(LDP_INSERTED_CONTENT_RELATION_PREDICATE), ANY)) {
-                fail("The " + LDP_INSERTED_CONTENT_RELATION_PREDICATE + " predicate was expected but not found");
-            }
+        final DatasetGraph graph = parseTriples(responseBody);
+        if (!graph
+            .contains(ANY, createURI(containerResource), createURI(LDP_INSERTED_CONTENT_RELATION_PREDICATE), ANY)) {
+            fail("The " + LDP_INSERTED_CONTENT_RELATION_PREDICATE + " predicate was expected but not found");
         }
     }
 
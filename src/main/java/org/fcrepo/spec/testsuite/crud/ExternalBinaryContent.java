@@ -855,7 +855,7 @@ public class ExternalBinaryContent extends AbstractTest {
         final String location = createExternalBinary(uri, info.getId(), "proxy", null);
 
         final String checksum = "md5;q=0.3,sha;q=1";
-        final Response wantDigestResponse = doGet(location, new Header("Want-Digest", checksum));
+        final Response wantDigestResponse = doGetVerifyingDigest(location, checksum);
 
         final Headers responseHeaders = wantDigestResponse.getHeaders();
         assertTrue(responseHeaders.getValue(DIGEST).contains("md5") ||
@@ -17,10 +17,10 @@
  */
 package org.fcrepo.spec.testsuite.crud;
 
-import static org.fcrepo.spec.testsuite.Constants.CONTENT_DISPOSITION;
 import static org.fcrepo.spec.testsuite.Constants.DIGEST;
 import static org.fcrepo.spec.testsuite.Constants.RDF_BODY;
-import static org.fcrepo.spec.testsuite.Constants.SLUG;
+import static org.fcrepo.spec.testsuite.FixturePool.Fixture.BASIC_CONTAINER;
+import static org.fcrepo.spec.testsuite.FixturePool.Fixture.NON_RDF_SOURCE;
 import static org.hamcrest.Matchers.containsString;
 
 import java.net.URI;
@@ -124,8 +124,7 @@ public class HttpGet extends AbstractTest {
                                         + " response header as defined in [RFC7240] section 3.",
                                         SPEC_BASE_URL + "#http-get-ldprs",
                                         ps);
-        final Response resource = createBasicContainer(uri, info);
-        final String locationHeader = getLocation(resource);
+        final String locationHeader = leaseReadOnlyFixture(BASIC_CONTAINER);
         doGet(locationHeader, new Header("Prefer", "return=representation; "
                         + "include=\"http://www.w3.org/ns/ldp#PreferMinimalContainer\""))
                 .then()
@@ -146,11 +145,7 @@ public class HttpGet extends AbstractTest {
                                         + "in question, as defined in [RFC6892].",
                                         SPEC_BASE_URL + "#http-get-ldprs",
                                         ps);
-        final Headers headers = new Headers(
-                new Header(CONTENT_DISPOSITION, "attachment; filename=\"responseDescribesHeader.txt\""),
-                new Header(SLUG, info.getId()));
-        final Response resource = doPost(uri, headers, "TestString");
-        final String locationHeader = getLocation(resource);
+        final String locationHeader = leaseReadOnlyFixture(NON_RDF_SOURCE);
 
         // Get Binary description (from community impl: /fcr:metadata)
         final Response getResponse = doGet(locationHeader);
@@ -179,12 +174,8 @@ public class HttpGet extends AbstractTest {
                                         ps);
         final String checksum = "md5";
 
-        final Headers headers = new Headers(
-                new Header(CONTENT_DISPOSITION, "attachment; filename=\"respondwantdigest.txt\""),
-                new Header(SLUG, info.getId()));
-        final Response resource = doPost(uri, headers, "TestString");
-        final String locationHeader = getLocation(resource);
-        doGet(locationHeader, new Header("Want-Digest", checksum))
+        final String locationHeader = leaseReadOnlyFixture(NON_RDF_SOURCE);
+        doGetVerifyingDigest(locationHeader, checksum)
                 .then()
                 .statusCode(200)
                 .header(DIGEST, containsString("md5"));
@@ -203,12 +194,8 @@ public class HttpGet extends AbstractTest {
                                         ps);
         final String checksum = "sha";
 
-        final Headers headers = new Headers(
-            new Header(CONTENT_DISPOSITION, "attachment; filename=\"respondwantdigest.txt\""),
-            new Header(SLUG, info.getId()));
-        final Response resource = doPost(uri, headers, "TestString");
-        final String locationHeader = getLocation(resource);
-        doGet(locationHeader, new Header("Want-Digest", checksum))
+        final String locationHeader = leaseReadOnlyFixture(NON_RDF_SOURCE);
+        doGetVerifyingDigest(locationHeader, checksum)
             .then()
             .statusCode(200)
             .header(DIGEST, containsString(checksum));
@@ -227,12 +214,8 @@ public class HttpGet extends AbstractTest {
                                         ps);
         final String checksum = "sha-256";
 
-        final Headers headers = new Headers(
-            new Header(CONTENT_DISPOSITION, "attachment; filename=\"respondwantdigest.txt\""),
-            new Header(SLUG, info.getId()));
-        final Response resource = doPost(uri, headers, "TestString");
-        final String locationHeader = getLocation(resource);
-        doGet(locationHeader, new Header("Want-Digest", checksum))
+        final String locationHeader = leaseReadOnlyFixture(NON_RDF_SOURCE);
+        doGetVerifyingDigest(locationHeader, checksum)
             .then()
             .statusCode(200)
             .header(DIGEST, containsString(checksum));
@@ -250,13 +233,9 @@ public class HttpGet extends AbstractTest {
                                         + "header defined in [RFC3230]",
                                         SPEC_BASE_URL + "#http-get-ldpnr",
                                         ps);
-        final Headers headers = new Headers(
-                new Header(CONTENT_DISPOSITION, "attachment; filename=\"wantdigestTwoSupported.txt\""),
-                new Header(SLUG, info.getId()));
-        final Response resource = doPost(uri, headers, "TestString");
-        final String locationHeader = getLocation(resource);
+        final String locationHeader = leaseReadOnlyFixture(NON_RDF_SOURCE);
 
-        final Response wantDigestResponse = doGet(locationHeader, new Header("Want-Digest", checksum));
+        final Response wantDigestResponse = doGetVerifyingDigest(locationHeader, checksum);
 
         final Headers responseHeaders = wantDigestResponse.getHeaders();
         ps.append(wantDigestResponse.getStatusLine());
@@ -284,12 +263,8 @@ public class HttpGet extends AbstractTest {
                                         SPEC_BASE_URL + "#http-get-ldpnr",
                                         ps);
 
-        final Headers headers = new Headers(
-                new Header(CONTENT_DISPOSITION, "attachment; filename=\"wantdigestTwoSupportedQvalueNonZero.txt\""),
-                new Header(SLUG, info.getId()));
-        final Response resource = doPost(uri, headers, "TestString");
-        final String locationHeader = getLocation(resource);
-        final Response wantDigestResponse = doGet(locationHeader, new Header("Want-Digest", checksum));
+        final String locationHeader = leaseReadOnlyFixture(NON_RDF_SOURCE);
+        final Response wantDigestResponse = doGetVerifyingDigest(locationHeader, checksum);
 
         final Headers responseHeaders = wantDigestResponse.getHeaders();
         ps.append(wantDigestResponse.getStatusLine());
@@ -316,12 +291,8 @@ public class HttpGet extends AbstractTest {
                                         + " header defined in [RFC3230]",
                                         SPEC_BASE_URL + "#http-get-ldpnr",
                                         ps);
-        final Headers headers = new Headers(
-                new Header(CONTENT_DISPOSITION, "attachment; filename=\"wantDigestTwoSupportedQvalueZero.txt\""),
-                new Header(SLUG, info.getId()));
-        final Response resource = doPost(uri, headers, "TestString");
-        final String locationHeader = getLocation(resource);
-        doGet(locationHeader, new Header("Want-Digest", checksum))
+        final String locationHeader = leaseReadOnlyFixture(NON_RDF_SOURCE);
+        doGetVerifyingDigest(locationHeader, checksum)
                 .then()
                 .header(DIGEST, containsString("md5"));
     }
@@ -339,12 +310,8 @@ public class HttpGet extends AbstractTest {
                                         + "header defined in [RFC3230]",
                                         SPEC_BASE_URL + "#http-get-ldpnr",
                                         ps);
-        final Headers headers = new Headers(
-                new Header(CONTENT_DISPOSITION, "attachment; filename=\"wantDigestNonSupported.txt\""),
-                new Header(SLUG, info.getId()));
-        final Response resource = doPost(uri, headers, "TestString");
-        final String locationHeader = getLocation(resource);
-        doGet(locationHeader, new Header("Want-Digest", checksum))
+        final String locationHeader = leaseReadOnlyFixture(NON_RDF_SOURCE);
+        doGetVerifyingDigest(locationHeader, checksum)
                 .then()
                 .header(DIGEST, containsString("md5"));
     }
@@ -362,11 +329,7 @@ public class HttpGet extends AbstractTest {
                                         + "header defined in [RFC3230].",
                                         SPEC_BASE_URL + "#http-get-ldpnr",
                                         ps);
-        final Headers headers = new Headers(
-            new Header(CONTENT_DISPOSITION, "attachment; filename=\"wantDigestNonSupported.txt\""),
-            new Header(SLUG, info.getId()));
-        final Response resource = doPost(uri, headers, "TestString");
-        final String locationHeader = getLocation(resource);
+        final String locationHeader = leaseReadOnlyFixture(NON_RDF_SOURCE);
         doGetUnverified(locationHeader, new Header("Want-Digest", checksum))
             .then()
             .statusCode(400);
@@ -17,9 +17,9 @@
  */
 package org.fcrepo.spec.testsuite.crud;
 
-import static org.fcrepo.spec.testsuite.Constants.CONTENT_DISPOSITION;
 import static org.fcrepo.spec.testsuite.Constants.DIGEST;
-import static org.fcrepo.spec.testsuite.Constants.SLUG;
+import static org.fcrepo.spec.testsuite.FixturePool.Fixture.BASIC_CONTAINER;
+import static org.fcrepo.spec.testsuite.FixturePool.Fixture.NON_RDF_SOURCE;
 import static org.hamcrest.Matchers.equalTo;
 import static org.testng.Assert.assertEquals;
 
@@ -52,8 +52,7 @@ public class HttpHead extends AbstractTest {
                                         + "specified in [RFC7231] section 4.3.2.",
                                         SPEC_BASE_URL + "#http-head",
                                         ps);
-        final Response resource = createBasicContainer(uri, info);
-        final String locationHeader = getLocation(resource);
+        final String locationHeader = leaseReadOnlyFixture(BASIC_CONTAINER);
         doHead(locationHeader).then().assertThat().body(equalTo(""));
     }
 
@@ -69,12 +68,7 @@ public class HttpHead extends AbstractTest {
                                         "been omitted for a GET).",
                                         SPEC_BASE_URL + "#http-head",
                                         ps);
-        final Headers headers = new Headers(
-                new Header(CONTENT_DISPOSITION, "attachment; filename=\"headerwantdigest.txt\""),
-                new Header(SLUG, info.getId()));
-        final Response resource = doPost(uri, headers, "TestString.");
-
-        final String locationHeader = getLocation(resource);
+        final String locationHeader = leaseReadOnlyFixture(NON_RDF_SOURCE);
         final Response resget = doGet(locationHeader);
 
         ps.append(resget.getStatusLine()).append("\n");
@@ -121,8 +115,7 @@ public class HttpHead extends AbstractTest {
                                         "3.3) may be omitted.",
                                         SPEC_BASE_URL + "#http-head",
                                         ps);
-        final Response resource = createBasicContainer(uri, info);
-        final String locationHeader = getLocation(resource);
+        final String locationHeader = leaseReadOnlyFixture(BASIC_CONTAINER);
         final Response resget = doGet(locationHeader);
 
         ps.append(resget.getStatusLine()).append("\n");
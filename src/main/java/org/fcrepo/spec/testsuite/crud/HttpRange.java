@@ -0,0 +1,216 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.crud;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.fcrepo.spec.testsuite.FixturePool.Fixture.NON_RDF_SOURCE;
+import static org.fcrepo.spec.testsuite.FixturePool.NON_RDF_SOURCE_BODY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import org.fcrepo.spec.testsuite.AbstractTest;
+import org.fcrepo.spec.testsuite.TestInfo;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+/**
+ * Byte-range requests [RFC7233] against an LDP-NR.  Servers may ignore the Range header, so each test is skipped if
+ * the server answers with the full representation.  The Fedora specification does not require range support, so
+ * these tests are identified and linked by RFC 7233 rather than by a specification section.
+ *
+ * @author agent
+ */
+public class HttpRange extends AbstractTest {
+
+    private static final String RFC7233_LINK = "https://tools.ietf.org/html/rfc7233";
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+
+    private static final Pattern BOUNDARY = Pattern.compile("boundary=\"?([^\";]+)\"?");
+
+    /**
+     * RFC7233-A
+     */
+    @Test(groups = {"MAY"})
+    public void rangeRequestPartialContent() {
+        final TestInfo info = setupTest("RFC7233-A",
+                                        "A GET request for a byte range of an LDP-NR should be answered with a 206 " +
+                                        "response holding that range and a matching Content-Range header, as " +
+                                        "specified in [RFC7233] section 4.1.",
+                                        RFC7233_LINK + "#section-4.1",
+                                        ps);
+        final Response response = rangeRequest(leaseReadOnlyFixture(NON_RDF_SOURCE), "bytes=0-3");
+        confirmRange(response, 0, 3);
+    }
+
+    /**
+     * RFC7233-B
+     */
+    @Test(groups = {"MAY"})
+    public void rangeRequestOpenEnded() {
+        final TestInfo info = setupTest("RFC7233-B",
+                                        "A byte range with no last position extends to the end of the LDP-NR, as " +
+                                        "specified in [RFC7233] section 2.1.",
+                                        RFC7233_LINK + "#section-2.1",
+                                        ps);
+        final Response response = rangeRequest(leaseReadOnlyFixture(NON_RDF_SOURCE), "bytes=4-");
+        confirmRange(response, 4, NON_RDF_SOURCE_BODY.length() - 1);
+    }
+
+    /**
+     * RFC7233-C
+     */
+    @Test(groups = {"MAY"})
+    public void rangeRequestSuffix() {
+        final TestInfo info = setupTest("RFC7233-C",
+                                        "A suffix byte range selects the given number of bytes at the end of the " +
+                                        "LDP-NR, as specified in [RFC7233] section 2.1.",
+                                        RFC7233_LINK + "#section-2.1",
+                                        ps);
+        final Response response = rangeRequest(leaseReadOnlyFixture(NON_RDF_SOURCE), "bytes=-6");
+        final int length = NON_RDF_SOURCE_BODY.length();
+        confirmRange(response, length - 6, length - 1);
+    }
+
+    /**
+     * RFC7233-D
+     */
+    @Test(groups = {"MAY"})
+    public void rangeRequestMultiple() {
+        final TestInfo info = setupTest("RFC7233-D",
+                                        "A request for several byte ranges should be answered with a " +
+                                        "multipart/byteranges response holding each range, or with a single part " +
+                                        "if the server coalesces them, as specified in [RFC7233] section 4.1.",
+                                        RFC7233_LINK + "#section-4.1",
+                                        ps);
+        final Response response = rangeRequest(leaseReadOnlyFixture(NON_RDF_SOURCE), "bytes=0-3,6-9");
+        final String contentType = response.getContentType();
+        final List<long[]> received = new ArrayList<>();
+        if (contentType != null && contentType.startsWith("multipart/byteranges")) {
+            final Matcher boundary = BOUNDARY.matcher(contentType);
+            assertTrue(boundary.find(), "No boundary in Content-Type: " + contentType);
+            for (final String part : parts(new String(response.asByteArray(), ISO_8859_1), boundary.group(1))) {
+                final int split = part.indexOf("\r\n\r\n");
+                assertTrue(split >= 0, "Part has no header section: " + part);
+                final Matcher range = CONTENT_RANGE.matcher(part.substring(0, split));
+                assertTrue(range.find(), "Part has no Content-Range header: " + part);
+                final long first = Long.parseLong(range.group(1));
+                final long last = Long.parseLong(range.group(2));
+                assertEquals(part.substring(split + 4), NON_RDF_SOURCE_BODY.substring((int) first, (int) last + 1),
+                             "Part does not hold the bytes named by its Content-Range");
+                received.add(new long[] {first, last});
+            }
+        } else {
+            final long[] range = confirmRange(response, -1, -1);
+            received.add(range);
+        }
+        for (final long[] requested : new long[][] {{0, 3}, {6, 9}}) {
+            assertTrue(received.stream().anyMatch(r -> r[0] <= requested[0] && r[1] >= requested[1]),
+                       "Requested range " + requested[0] + "-" + requested[1] + " was not returned");
+        }
+    }
+
+    /**
+     * RFC7233-E
+     */
+    @Test(groups = {"MAY"})
+    public void rangeRequestUnsatisfiable() {
+        final TestInfo info = setupTest("RFC7233-E",
+                                        "A byte range starting beyond the end of the LDP-NR should be answered with " +
+                                        "a 416 response whose Content-Range header gives the length, as specified " +
+                                        "in [RFC7233] section 4.4.",
+                                        RFC7233_LINK + "#section-4.4",
+                                        ps);
+        final String location = leaseReadOnlyFixture(NON_RDF_SOURCE);
+        // Confirm range support first, since a server which ignores Range answers this with 200 as well
+        rangeRequest(location, "bytes=0-0");
+        final Response response = doGetUnverified(location, new Header("Range", "bytes=100-"));
+        assertEquals(response.getStatusCode(), 416, "Unsatisfiable range was not rejected");
+        assertEquals(response.getHeader("Content-Range"), "bytes */" + NON_RDF_SOURCE_BODY.length());
+    }
+
+    /**
+     * GET a range, skipping the test if the server ignores the Range header
+     */
+    private Response rangeRequest(final String location, final String range) {
+        final Response response = doGetUnverified(location, new Header("Range", range));
+        if (response.getStatusCode() == 200) {
+            throw new SkipException("Byte-range requests are not supported");
+        }
+        assertEquals(response.getStatusCode(), 206, "Range request was not answered with 206 Partial Content");
+        return response;
+    }
+
+    /**
+     * Check that a single-part range response holds the bytes its Content-Range names
+     *
+     * @param first the expected first byte position, or -1 for any
+     * @param last the expected last byte position, or -1 for any
+     * @return the first and last positions received
+     */
+    private long[] confirmRange(final Response response, final long first, final long last) {
+        final String header = response.getHeader("Content-Range");
+        assertNotNull(header, "Partial content response has no Content-Range header");
+        final Matcher range = CONTENT_RANGE.matcher(header);
+        assertTrue(range.matches(), "Malformed Content-Range: " + header);
+        final long from = Long.parseLong(range.group(1));
+        final long to = Long.parseLong(range.group(2));
+        if (first >= 0) {
+            assertEquals(from, first, "Content-Range does not start where requested");
+            assertEquals(to, last, "Content-Range does not end where requested");
+        }
+        if (!range.group(3).equals("*")) {
+            assertEquals(Long.parseLong(range.group(3)), NON_RDF_SOURCE_BODY.length(),
+                         "Content-Range gives the wrong complete length");
+        }
+        assertEquals(response.asString(), NON_RDF_SOURCE_BODY.substring((int) from, (int) to + 1),
+                     "Body does not hold the bytes named by Content-Range");
+        return new long[] {from, to};
+    }
+
+    /**
+     * Split a multipart body into its parts, each holding its headers, a blank line and its content
+     */
+    private static List<String> parts(final String body, final String boundary) {
+        final List<String> parts = new ArrayList<>();
+        final String delimiter = "--" + boundary;
+        int start = body.indexOf(delimiter);
+        while (start >= 0) {
+            start += delimiter.length();
+            if (body.startsWith("--", start)) {
+                break;
+            }
+            final int end = body.indexOf("\r\n" + delimiter, start);
+            if (end < 0) {
+                break;
+            }
+            // Skip the line break which ends the delimiter line
+            parts.add(body.substring(body.indexOf("\r\n", start) + 2, end));
+            start = end + 2;
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.event;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.jms.MessageConsumer;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.ResIterator;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.fcrepo.spec.testsuite.TestParameters;
+import org.fcrepo.spec.testsuite.benchmark.Benchmark;
+import org.fcrepo.spec.testsuite.benchmark.BenchmarkResult;
+
+/**
+ * Measures how long the repository takes to deliver a notification after the request that caused it has completed.
+ * A stream of create, update and delete operations is issued against new resources, and every notification is
+ * matched to its originating request by resource IRI and activity streams type.
+ *
+ * @author agent
+ */
+public class EventLatencyBenchmark extends AbstractEventTest implements Benchmark {
+
+    private static final String ACTIVITY_STREAMS_NS = "https://www.w3.org/ns/activitystreams#";
+
+    private static final List<String> OPERATIONS = Arrays.asList("create", "update", "delete");
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final Map<String, Pending> pending = new HashMap<>();
+
+    private BenchmarkResult result;
+
+    private long lastArrival;
+
+    private long beforeResponse;
+
+    @Override
+    public String getName() {
+        return "event-latency";
+    }
+
+    @Override
+    public BenchmarkResult run() throws Exception {
+        final TestParameters params = TestParameters.get();
+        final int warmup = params.getBenchmarkWarmup();
+        final int iterations = params.getBenchmarkIterations();
+        final List<String> operations = getOperations(params);
+        result = new BenchmarkResult(getName());
+        // Fix the report order before any latencies are recorded
+        operations.forEach(op -> result.histogram(activityType(op)));
+        result.histogram("all");
+
+        beforeClass();
+        final MessageConsumer consumer = getConsumer();
+        final MessageBank bank = new MessageBank();
+        consumer.setMessageListener(bank);
+        connection.start();
+        try {
+            long firstStart = 0;
+            for (int i = 0; i < warmup + iterations; i++) {
+                final boolean measured = i >= warmup;
+                if (i == warmup) {
+                    firstStart = System.nanoTime();
+                }
+
+                long start = System.nanoTime();
+                final String location = getLocation(doPost(uri));
+                expect(measured && operations.contains("create"), activityType("create"), location, start);
+
+                if (operations.contains("update")) {
+                    start = System.nanoTime();
+                    doPatch(location, new Headers(new Header("Content-Type", "application/sparql-update")),
+                            "prefix dc: <http://purl.org/dc/elements/1.1/> INSERT { <> dc:title \"" + i + "\" } " +
+                            "WHERE {}");
+                    expect(measured, activityType("update"), location, start);
+                }
+
+                if (operations.contains("delete")) {
+                    start = System.nanoTime();
+                    doDelete(location);
+                    expect(measured, activityType("delete"), location, start);
+                }
+            }
+
+            final int expected = pending.size();
+            bank.await(this::correlate, expected, TIMEOUT_SECONDS, SECONDS);
+
+            result.setElapsedNanos(Math.max(0, lastArrival - firstStart));
+            result.setCounter("events expected", expected);
+            result.setCounter("events received", expected - pending.size());
+            result.setCounter("events missing", pending.size());
+            result.setCounter("events received before the response", beforeResponse);
+            return result;
+        } finally {
+            consumer.close();
+            closeConnection();
+        }
+    }
+
+    private List<String> getOperations(final TestParameters params) {
+        final String value = params.getEventOperations();
+        if (value.isEmpty()) {
+            return OPERATIONS;
+        }
+        final List<String> operations = Arrays.stream(value.split(","))
+                                              .map(s -> s.trim().toLowerCase(Locale.ROOT))
+                                              .collect(Collectors.toList());
+        for (final String op : operations) {
+            if (!OPERATIONS.contains(op)) {
+                throw new RuntimeException("Argument \"" + TestParameters.EVENT_OPERATIONS_PARAM +
+                                           "\" must be a comma separated list of " + OPERATIONS + ": " + value);
+            }
+        }
+        return operations;
+    }
+
+    private static String activityType(final String operation) {
+        return operation.substring(0, 1).toUpperCase(Locale.ROOT) + operation.substring(1);
+    }
+
+    private void expect(final boolean measured, final String type, final String location, final long start) {
+        if (measured) {
+            pending.put(type + " " + location, new Pending(type, start, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Match a notification against the outstanding requests, recording the delivery latency of each match
+     *
+     * @param message the notification
+     * @return whether the notification matched an outstanding request
+     */
+    private boolean correlate(final ReceivedMessage message) {
+        final Model model = message.getModel();
+        final List<String> types = new ArrayList<>();
+        for (final RDFNode type : model.listObjectsOfProperty(RDF.type).toList()) {
+            if (type.isURIResource() && type.asResource().getURI().startsWith(ACTIVITY_STREAMS_NS)) {
+                types.add(type.asResource().getURI().substring(ACTIVITY_STREAMS_NS.length()));
+            }
+        }
+
+        boolean matched = false;
+        for (final ResIterator subjects = model.listSubjects(); subjects.hasNext(); ) {
+            final Resource subject = subjects.next();
+            if (!subject.isURIResource()) {
+                continue;
+            }
+            for (final String type : types) {
+                final String key = type + " " + subject.getURI();
+                final Pending request = pending.get(key);
+                // Ignore anything sent before the request started, e.g. an Update emitted while creating
+                if (request == null || message.getArrivalNanos() < request.start) {
+                    continue;
+                }
+                pending.remove(key);
+                final long latency = message.getArrivalNanos() - request.completed;
+                if (latency < 0) {
+                    beforeResponse++;
+                }
+                result.histogram(request.type).record(latency);
+                result.histogram("all").record(latency);
+                lastArrival = Math.max(lastArrival, message.getArrivalNanos());
+                matched = true;
+            }
+        }
+        return matched;
+    }
+
+    private static class Pending {
+        private final String type;
+        private final long start;
+        private final long completed;
+
+        private Pending(final String type, final long start, final long completed) {
+            this.type = type;
+            this.start = start;
+            this.completed = completed;
+        }
+    }
+}
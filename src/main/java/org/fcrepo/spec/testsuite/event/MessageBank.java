@@ -17,8 +17,14 @@
  */
 package org.fcrepo.spec.testsuite.event;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import javax.jms.Message;
@@ -27,17 +33,36 @@ import javax.jms.TextMessage;
 
 /**
  * Collection messages from topic or queue and save them
+ * <p>
+ * Messages are kept in an append-only linked list which the JMS dispatch thread extends without locking.  Every
+ * arrival releases the current latch and installs a new one, so callers waiting for messages sleep until something
+ * arrives rather than polling.
  *
  * @author whikloj
  */
 public class MessageBank implements MessageListener {
 
-    private final List<Message> messages = new ArrayList<>();
+    private final AtomicReference<Node> head;
+
+    private final AtomicReference<Node> tail;
+
+    private final AtomicReference<CountDownLatch> arrival = new AtomicReference<>(new CountDownLatch(1));
+
+    /**
+     * Constructor
+     */
+    public MessageBank() {
+        final Node sentinel = new Node(null);
+        head = new AtomicReference<>(sentinel);
+        tail = new AtomicReference<>(sentinel);
+    }
 
     @Override
     public void onMessage(final Message message) {
         if (message instanceof TextMessage) {
-            messages.add(message);
+            final Node node = new Node(new ReceivedMessage(message, System.nanoTime(), Instant.now()));
+            tail.getAndSet(node).next = node;
+            arrival.getAndSet(new CountDownLatch(1)).countDown();
         }
     }
 
@@ -47,13 +72,94 @@ public class MessageBank implements MessageListener {
      * @return all messages.
      */
     public Stream<Message> stream() {
-        return messages.stream();
+        return received().map(ReceivedMessage::getMessage);
+    }
+
+    /**
+     * Get the messages, with their arrival times, as a stream.
+     *
+     * @return all messages.
+     */
+    public Stream<ReceivedMessage> received() {
+        final Stream.Builder<ReceivedMessage> builder = Stream.builder();
+        for (Node n = head.get().next; n != null; n = n.next) {
+            builder.add(n.message);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Wait until at least count messages have arrived.
+     *
+     * @param count the number of messages
+     * @param timeout how long to wait
+     * @param unit the unit of timeout
+     * @return whether the messages arrived before the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitCount(final int count, final long timeout, final TimeUnit unit) throws InterruptedException {
+        return await(m -> true, count, timeout, unit).size() >= count;
+    }
+
+    /**
+     * Wait for the first message matching the filter.
+     *
+     * @param filter the message filter, e.g. {@code m -> m.isAbout(location)}
+     * @param timeout how long to wait
+     * @param unit the unit of timeout
+     * @return the first matching message, or empty if none arrived before the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Optional<ReceivedMessage> awaitMatch(final Predicate<ReceivedMessage> filter, final long timeout,
+                                                final TimeUnit unit) throws InterruptedException {
+        return await(filter, 1, timeout, unit).stream().findFirst();
+    }
+
+    /**
+     * Wait until at least count messages matching the filter have arrived.
+     *
+     * @param filter the message filter
+     * @param count the number of matching messages
+     * @param timeout how long to wait
+     * @param unit the unit of timeout
+     * @return the matching messages, fewer than count if the timeout was reached
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public List<ReceivedMessage> await(final Predicate<ReceivedMessage> filter, final int count, final long timeout,
+                                       final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        final List<ReceivedMessage> matches = new ArrayList<>();
+        Node cursor = head.get();
+        while (true) {
+            // Take the latch before scanning so that an arrival during the scan ends the wait immediately
+            final CountDownLatch latch = arrival.get();
+            for (Node n = cursor.next; n != null; n = n.next) {
+                cursor = n;
+                if (filter.test(n.message)) {
+                    matches.add(n.message);
+                }
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (matches.size() >= count || remaining <= 0) {
+                return matches;
+            }
+            latch.await(remaining, TimeUnit.NANOSECONDS);
+        }
     }
 
     /**
      * Clear message list.
      */
     public void clear() {
-        messages.clear();
+        head.set(tail.get());
+    }
+
+    private static class Node {
+        private final ReceivedMessage message;
+        private volatile Node next;
+
+        private Node(final ReceivedMessage message) {
+            this.message = message;
+        }
     }
 }
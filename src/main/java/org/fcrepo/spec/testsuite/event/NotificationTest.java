@@ -17,8 +17,7 @@
  */
 package org.fcrepo.spec.testsuite.event;
 
-import static org.awaitility.Awaitility.await;
-import static org.awaitility.Duration.TEN_SECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import java.io.ByteArrayInputStream;
@@ -53,6 +52,7 @@ import io.restassured.response.Response;
  * @author whikloj
  * @since 2018-09-21
  */
+@Test(singleThreaded = true)
 public class NotificationTest extends AbstractEventTest {
 
     private static final String ACTIVITY_STREAMS_NS = "https://www.w3.org/ns/activitystreams#";
@@ -99,8 +99,7 @@ public class NotificationTest extends AbstractEventTest {
         // Get the message bank back.
         final MessageBank listener = (MessageBank) consumer.getMessageListener();
         // POST should emit at least 2 events
-        await().atMost(TEN_SECONDS).until(() -> listener.stream()
-                .count() >= 2);
+        awaitMessages(listener, 2);
 
         // empty the message bank
         listener.clear();
@@ -111,22 +110,19 @@ public class NotificationTest extends AbstractEventTest {
         doPut(location, new Headers(new Header("Content-type", "text/turtle"), new Header("Prefer",
                 "handling=lenient; received=minimal")), body);
         // PUT should emit at least 1 event
-        await().atMost(TEN_SECONDS).until(() -> listener.stream()
-                .count() >= 1);
+        awaitMessages(listener, 1);
 
         listener.clear();
         doPatch(location, new Headers(new Header("Content-type", "application/sparql-update")),
                 "prefix dc: <http://purl.org/dc/elements/1.1/> INSERT { <> dc:title \"This has been updated\"} " +
                         "WHERE {}");
         // PATCH should emit at least 1 event
-        await().atMost(TEN_SECONDS).until(() -> listener.stream()
-                .count() >= 1);
+        awaitMessages(listener, 1);
 
         listener.clear();
         doDelete(location);
         // Delete should emit at least 2 events.
-        await().atMost(TEN_SECONDS).until(() -> listener.stream()
-                .count() >= 2);
+        awaitMessages(listener, 2);
 
         consumer.close();
 
@@ -159,8 +155,7 @@ public class NotificationTest extends AbstractEventTest {
         // Get the message bank back.
         final MessageBank listener = (MessageBank) consumer.getMessageListener();
         // POST should emit at least 2 events
-        await().atMost(TEN_SECONDS).until(() -> listener.stream()
-                .count() >= 2);
+        awaitMessages(listener, 2);
 
         final Resource locResource = ResourceFactory.createResource(location);
         final AtomicBoolean foundExpectedLocation = new AtomicBoolean(false);
@@ -234,6 +229,21 @@ public class NotificationTest extends AbstractEventTest {
         connection.close();
     }
 
+    /**
+     * Blocks until the listener has received at least count events, failing the test if they do not arrive in time.
+     *
+     * @param listener the message listener
+     * @param count the number of events expected
+     */
+    private void awaitMessages(final MessageBank listener, final int count) {
+        try {
+            assertTrue("Expected at least " + count + " events", listener.awaitCount(count, 10, SECONDS));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("Interrupted while waiting for events");
+        }
+    }
+
     /**
      * Creates a container with rdf:type "type" and checks the event for it.
      *
@@ -246,8 +256,7 @@ public class NotificationTest extends AbstractEventTest {
         final Response resp = doPost(baseUri, new Headers(new Header("Link", "<" + type.getURI() + ">; rel=type")));
         final String location = getLocation(resp);
         // system should emit at least 2 events
-        await().atMost(TEN_SECONDS).until(() -> listener.stream()
-                .count() >= 2);
+        awaitMessages(listener, 2);
 
         final Resource locResource = ResourceFactory.createResource(location);
         listener.stream().forEach(m -> {
@@ -0,0 +1,124 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.event;
+
+import java.io.StringReader;
+import java.time.Instant;
+
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.TextMessage;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.vocabulary.RDF;
+
+/**
+ * A notification together with the time it was received.
+ *
+ * @author agent
+ */
+public class ReceivedMessage {
+
+    private final Message message;
+
+    private final long arrivalNanos;
+
+    private final Instant arrivalTime;
+
+    private volatile Model model;
+
+    /**
+     * Constructor
+     *
+     * @param message the JMS message
+     * @param arrivalNanos the value of {@link System#nanoTime()} when the message arrived
+     * @param arrivalTime the wall clock time when the message arrived
+     */
+    public ReceivedMessage(final Message message, final long arrivalNanos, final Instant arrivalTime) {
+        this.message = message;
+        this.arrivalNanos = arrivalNanos;
+        this.arrivalTime = arrivalTime;
+    }
+
+    /**
+     * @return the JMS message
+     */
+    public Message getMessage() {
+        return message;
+    }
+
+    /**
+     * The arrival time on the {@link System#nanoTime()} clock, for measuring latency against a request made by this
+     * process.
+     *
+     * @return arrival time in nanoseconds
+     */
+    public long getArrivalNanos() {
+        return arrivalNanos;
+    }
+
+    /**
+     * @return the wall clock time when the message arrived
+     */
+    public Instant getArrivalTime() {
+        return arrivalTime;
+    }
+
+    /**
+     * @return the message body
+     */
+    public String getText() {
+        try {
+            return ((TextMessage) message).getText();
+        } catch (final JMSException e) {
+            throw new RuntimeException("Could not get text from message", e);
+        }
+    }
+
+    /**
+     * The message body parsed as JSON-LD.  The model is parsed on first use and shared by later callers.
+     *
+     * @return the event as RDF
+     */
+    public Model getModel() {
+        if (model == null) {
+            final Model parsed = ModelFactory.createDefaultModel();
+            parsed.read(new StringReader(getText()), "", "JSON-LD");
+            model = parsed;
+        }
+        return model;
+    }
+
+    /**
+     * @param resourceIri the IRI of a resource
+     * @return whether the event describes the resource
+     */
+    public boolean isAbout(final String resourceIri) {
+        return getModel().contains(ResourceFactory.createResource(resourceIri), null);
+    }
+
+    /**
+     * @param typeIri the IRI of an event type, e.g. an activity streams type
+     * @return whether the event has the type
+     */
+    public boolean hasType(final String typeIri) {
+        return getModel().contains(null, RDF.type, ResourceFactory.createResource(typeIri));
+    }
+}
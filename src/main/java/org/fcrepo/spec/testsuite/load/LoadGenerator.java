@@ -0,0 +1,238 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import org.fcrepo.spec.testsuite.AbstractTest;
+import org.fcrepo.spec.testsuite.TestParameters;
+import org.fcrepo.spec.testsuite.benchmark.Benchmark;
+import org.fcrepo.spec.testsuite.benchmark.BenchmarkResult;
+import org.fcrepo.spec.testsuite.load.WorkloadMix.Operation;
+
+/**
+ * Drives a weighted mix of requests against the repository, using the same request helpers and authentication as
+ * the conformance tests, and reports latency and throughput per operation.
+ * <p>
+ * With no rate set, each worker issues its next request as soon as the previous one completes (fixed concurrency).
+ * With a rate set, requests are scheduled at fixed intervals and latency is measured from the scheduled start, so
+ * time spent waiting for a free worker is included rather than hidden.
+ * <p>
+ * A read which fails because another worker deleted its resource in the meantime is counted as "gone" rather than
+ * as an error.
+ *
+ * @author agent
+ */
+public class LoadGenerator extends AbstractTest implements Benchmark {
+
+    private static final String DEFAULT_MIX = "get=70,patch=10,post=10,delete=10";
+
+    private static final String RDF_BODY = "@prefix dc: <http://purl.org/dc/elements/1.1/> .\n<> dc:title \"load\" .";
+
+    private static final String SPARQL_UPDATE = "prefix dc: <http://purl.org/dc/elements/1.1/> " +
+                                                "INSERT { <> dc:description \"load\" } WHERE {}";
+
+    private final ResourcePool pool = new ResourcePool();
+
+    private final AtomicLong slugs = new AtomicLong();
+
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, AtomicLong> gone = new EnumMap<>(Operation.class);
+
+    private final AtomicLong ticket = new AtomicLong();
+
+    private BenchmarkResult result;
+
+    private WorkloadMix mix;
+
+    private long measureFrom;
+
+    private long end;
+
+    @Override
+    public String getName() {
+        return "load";
+    }
+
+    @Override
+    protected boolean logAllRequests() {
+        return false;
+    }
+
+    @Override
+    public BenchmarkResult run() throws Exception {
+        final TestParameters params = TestParameters.get();
+        mix = WorkloadMix.parse(params.getLoadMix().isEmpty() ? DEFAULT_MIX : params.getLoadMix());
+        final int concurrency = params.getLoadConcurrency();
+        final int rate = params.getLoadRate();
+        if (concurrency < 1 || rate < 0 || params.getLoadDuration() < 1 || params.getLoadWarmup() < 0) {
+            throw new RuntimeException(TestParameters.LOAD_CONCURRENCY_PARAM + " and " +
+                                       TestParameters.LOAD_DURATION_PARAM + " must be at least 1, " +
+                                       TestParameters.LOAD_RATE_PARAM + " and " + TestParameters.LOAD_WARMUP_PARAM +
+                                       " must not be negative");
+        }
+
+        result = new BenchmarkResult(getName());
+        for (final Operation op : Operation.values()) {
+            errors.put(op, new AtomicLong());
+            gone.put(op, new AtomicLong());
+        }
+        mix.getOperations().forEach(op -> result.histogram(op.name()));
+        result.histogram("all");
+
+        for (int i = 0; i < params.getLoadResources(); i++) {
+            pool.add(getLocation(createBasicContainer(uri, nextSlug())));
+        }
+
+        final long start = System.nanoTime();
+        measureFrom = start + TimeUnit.SECONDS.toNanos(params.getLoadWarmup());
+        end = measureFrom + TimeUnit.SECONDS.toNanos(params.getLoadDuration());
+        final long interval = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+
+        final ExecutorService workers = Executors.newFixedThreadPool(concurrency, r -> {
+            final Thread thread = new Thread(r, "load-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> work(start, interval)));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        result.setElapsedNanos(end - measureFrom);
+        for (final Operation op : mix.getOperations()) {
+            result.setCounter("errors " + op.name(), errors.get(op).get());
+            if (!op.isWrite() && op.needsTarget()) {
+                result.setCounter("gone " + op.name(), gone.get(op).get());
+            }
+        }
+        result.setCounter("concurrency", concurrency);
+        result.setCounter("target rate", rate);
+        return result;
+    }
+
+    private void work(final long start, final long interval) {
+        while (true) {
+            final long scheduled;
+            if (interval > 0) {
+                scheduled = start + ticket.getAndIncrement() * interval;
+                if (scheduled >= end) {
+                    return;
+                }
+                final long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                scheduled = System.nanoTime();
+                if (scheduled >= end) {
+                    return;
+                }
+            }
+
+            Operation op = mix.next();
+            String target = null;
+            if (op.needsTarget()) {
+                target = op.isWrite() ? pool.lease() : pool.pick();
+                if (target == null) {
+                    // Nothing left to act on, so grow the pool instead
+                    op = Operation.POST;
+                } else if (op == Operation.DELETE) {
+                    pool.markDeleted(target);
+                }
+            }
+
+            final boolean ok = perform(op, target);
+            final long latency = System.nanoTime() - scheduled;
+            if (op == Operation.PUT || op == Operation.PATCH) {
+                pool.release(target);
+            }
+            if (scheduled >= measureFrom) {
+                result.histogram(op.name()).record(latency);
+                result.histogram("all").record(latency);
+                if (!ok && target != null && !op.isWrite() && pool.isDeleted(target)) {
+                    gone.get(op).incrementAndGet();
+                } else if (!ok) {
+                    errors.get(op).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Perform one operation with the conformance test helpers, which verify the response status
+     *
+     * @param op the operation
+     * @param target the resource to act on, or null for POST
+     * @return whether the request succeeded
+     */
+    private boolean perform(final Operation op, final String target) {
+        try {
+            switch (op) {
+                case GET:
+                    doGet(target);
+                    break;
+                case HEAD:
+                    doHead(target);
+                    break;
+                case POST:
+                    pool.add(getLocation(createBasicContainer(uri, nextSlug(), RDF_BODY)));
+                    break;
+                case PUT:
+                    doPut(target, new Headers(new Header("Content-Type", "text/turtle"),
+                                              new Header("Prefer", "handling=lenient; received=minimal")), RDF_BODY);
+                    break;
+                case PATCH:
+                    doPatch(target, new Headers(new Header("Content-Type", "application/sparql-update")),
+                            SPARQL_UPDATE);
+                    break;
+                case DELETE:
+                    doDelete(target);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown operation " + op);
+            }
+            return true;
+        } catch (final Exception | AssertionError e) {
+            return false;
+        }
+    }
+
+    private String nextSlug() {
+        return "load-" + slugs.incrementAndGet();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.load;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The resources currently available to a load run.  Reads pick a random resource and leave it in the pool; writes
+ * lease one exclusively, so that no other worker modifies or deletes it in the meantime, and release it afterwards
+ * unless it was deleted.  A read may still race with a delete of the resource it picked, so deleted resources are
+ * remembered and a failed read of one can be told apart from a server error.
+ *
+ * @author agent
+ */
+class ResourcePool {
+
+    private final List<String> resources = new ArrayList<>();
+
+    private final Set<String> deleted = new HashSet<>();
+
+    synchronized void add(final String resource) {
+        resources.add(resource);
+    }
+
+    synchronized int size() {
+        return resources.size();
+    }
+
+    /**
+     * @return a random resource, or null if the pool is empty
+     */
+    synchronized String pick() {
+        if (resources.isEmpty()) {
+            return null;
+        }
+        return resources.get(ThreadLocalRandom.current().nextInt(resources.size()));
+    }
+
+    /**
+     * @return a random resource, removed from the pool until it is released, or null if the pool is empty
+     */
+    synchronized String lease() {
+        if (resources.isEmpty()) {
+            return null;
+        }
+        final int i = ThreadLocalRandom.current().nextInt(resources.size());
+        final String last = resources.remove(resources.size() - 1);
+        return i == resources.size() ? last : resources.set(i, last);
+    }
+
+    /**
+     * Return a leased resource to the pool
+     *
+     * @param resource the resource
+     */
+    synchronized void release(final String resource) {
+        resources.add(resource);
+    }
+
+    /**
+     * Record that a leased resource is about to be deleted.  It is not returned to the pool.
+     *
+     * @param resource the resource
+     */
+    synchronized void markDeleted(final String resource) {
+        deleted.add(resource);
+    }
+
+    /**
+     * @param resource a resource
+     * @return whether a worker has deleted, or is deleting, the resource
+     */
+    synchronized boolean isDeleted(final String resource) {
+        return deleted.contains(resource);
+    }
+}
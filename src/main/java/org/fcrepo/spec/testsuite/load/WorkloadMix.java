@@ -0,0 +1,124 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A weighted mix of operations, parsed from a comma separated list such as "get=70,patch=10,post=10,delete=10".
+ *
+ * @author agent
+ */
+public class WorkloadMix {
+
+    /**
+     * The operations a workload may contain
+     */
+    public enum Operation {
+        GET, HEAD, POST, PUT, PATCH, DELETE;
+
+        /**
+         * @return whether the operation acts on an existing resource
+         */
+        public boolean needsTarget() {
+            return this != POST;
+        }
+
+        /**
+         * @return whether the operation modifies the resource it acts on
+         */
+        public boolean isWrite() {
+            return this == PUT || this == PATCH || this == DELETE;
+        }
+    }
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final int totalWeight;
+
+    private WorkloadMix(final Map<Operation, Integer> weights) {
+        operations = weights.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        totalWeight = total;
+    }
+
+    /**
+     * Parse a workload mix
+     *
+     * @param mix operation=weight pairs separated by ','
+     * @return the mix
+     */
+    public static WorkloadMix parse(final String mix) {
+        final Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (final String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split("[=:]");
+            try {
+                final Operation op = Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+                final int weight = Integer.parseInt(parts[1].trim());
+                if (parts.length != 2 || weight < 0) {
+                    throw new IllegalArgumentException();
+                }
+                weights.merge(op, weight, Integer::sum);
+            } catch (final RuntimeException e) {
+                throw new RuntimeException("Invalid workload mix entry \"" + entry.trim() + "\": expected " +
+                                           "<operation>=<weight> where operation is one of " +
+                                           Arrays.toString(Operation.values()));
+            }
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new RuntimeException("Workload mix must contain at least one operation with a positive weight");
+        }
+        return new WorkloadMix(weights);
+    }
+
+    /**
+     * @return a randomly chosen operation, in proportion to the weights
+     */
+    public Operation next() {
+        final int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < operations.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * @return the operations in the mix, in the order given
+     */
+    public List<Operation> getOperations() {
+        final List<Operation> list = new ArrayList<>();
+        Collections.addAll(list, operations);
+        return list;
+    }
+}
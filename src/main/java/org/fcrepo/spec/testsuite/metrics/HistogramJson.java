@@ -0,0 +1,67 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The JSON form of a latency histogram shared by the suite's reports: a summary in milliseconds followed by the
+ * non-empty buckets in nanoseconds.
+ *
+ * @author agent
+ */
+public class HistogramJson {
+
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private HistogramJson() {
+    }
+
+    /**
+     * Add the summary and buckets of a histogram to a JSON object
+     *
+     * @param node the object to add to
+     * @param histogram the histogram
+     */
+    public static void write(final ObjectNode node, final LatencyHistogram histogram) {
+        node.put("count", histogram.getCount());
+        for (final double p : PERCENTILES) {
+            node.put("p" + (int) p + "Millis", histogram.getValueAtPercentile(p) / 1e6);
+        }
+        node.put("maxMillis", histogram.getMax() / 1e6);
+        node.put("meanMillis", histogram.getMean() / 1e6);
+        final ArrayNode buckets = node.putArray("histogramNanos");
+        histogram.forEachBucket((value, count) -> buckets.addArray().add(value).add(count));
+    }
+
+    /**
+     * Rebuild a histogram from the buckets written by {@link #write(ObjectNode, LatencyHistogram)}
+     *
+     * @param node the object holding the buckets
+     * @return the histogram, empty if the object has no buckets
+     */
+    public static LatencyHistogram read(final JsonNode node) {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (final JsonNode bucket : node.path("histogramNanos")) {
+            histogram.record(bucket.get(0).asLong(), bucket.get(1).asLong());
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, log-linear histogram of latencies in nanoseconds.  Values below 128 are counted exactly; above that
+ * each power of two is split into 64 equal buckets, so any recorded value is reported to within about 1.6%.
+ * Recording is lock-free and safe from any number of threads.
+ *
+ * @author agent
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = SUB_BUCKETS * (64 - SUB_BUCKET_BITS);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a single value
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as zero
+     */
+    public void record(final long nanos) {
+        record(nanos, 1);
+    }
+
+    /**
+     * Record a value several times
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as zero
+     * @param times the number of times to record it
+     */
+    public void record(final long nanos, final long times) {
+        if (times <= 0) {
+            return;
+        }
+        final long value = Math.max(0, nanos);
+        counts.addAndGet(indexOf(value), times);
+        count.addAndGet(times);
+        sum.addAndGet(value * times);
+        min.accumulateAndGet(value, Math::min);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add all values recorded in another histogram to this one
+     *
+     * @param other the histogram to add
+     */
+    public void add(final LatencyHistogram other) {
+        other.forEachBucket(this::record);
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the smallest recorded value, or 0 if nothing has been recorded
+     */
+    public long getMin() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * @return the largest recorded value
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded values, or 0 if nothing has been recorded
+     */
+    public double getMean() {
+        final long n = getCount();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Get the value below which the given percentage of recorded values fall
+     *
+     * @param percentile between 0 and 100
+     * @return the value at the percentile, or 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long n = getCount();
+        if (n == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.max(getMin(), Math.min(getMax(), valueOf(i)));
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Visit every non-empty bucket in increasing order of value
+     *
+     * @param consumer receives a representative value for the bucket and its count
+     */
+    public void forEachBucket(final BucketConsumer consumer) {
+        for (int i = 0; i < BUCKETS; i++) {
+            final long n = counts.get(i);
+            if (n > 0) {
+                consumer.accept(valueOf(i), n);
+            }
+        }
+    }
+
+    /**
+     * Receives the contents of a histogram bucket
+     */
+    @FunctionalInterface
+    public interface BucketConsumer {
+        /**
+         * @param nanos representative value of the bucket
+         * @param count number of values in the bucket
+         */
+        void accept(long nanos, long count);
+    }
+
+    private static int indexOf(final long value) {
+        final int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    private static long valueOf(final int index) {
+        final int shift = Math.max(0, (index >> SUB_BUCKET_BITS) - 1);
+        final long lower = (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+        // the middle of the bucket
+        return lower + ((1L << shift) >> 1);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Mann-Whitney U test of whether one set of latencies tends to be larger than another, computed directly from
+ * histogram buckets.  Values sharing a bucket are treated as ties, and the p-value comes from the normal approximation
+ * with tie and continuity corrections, so it is only meaningful with more than a handful of values on each side.
+ *
+ * @author agent
+ */
+public class MannWhitney {
+
+    private MannWhitney() {
+    }
+
+    /**
+     * Compute the two-sided p-value for the hypothesis that two histograms were drawn from the same distribution
+     *
+     * @param a the first histogram
+     * @param b the second histogram
+     * @return the p-value, or 1 if either histogram is empty
+     */
+    public static double pValue(final LatencyHistogram a, final LatencyHistogram b) {
+        final long n1 = a.getCount();
+        final long n2 = b.getCount();
+        if (n1 == 0 || n2 == 0) {
+            return 1;
+        }
+        final List<long[]> first = buckets(a);
+        final List<long[]> second = buckets(b);
+
+        // Walk both bucket lists in order of value, giving each group of ties its mid-rank
+        double rankSum = 0;
+        double tieSum = 0;
+        long ranked = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.size() || j < second.size()) {
+            final long value = Math.min(i < first.size() ? first.get(i)[0] : Long.MAX_VALUE,
+                                        j < second.size() ? second.get(j)[0] : Long.MAX_VALUE);
+            long inFirst = 0;
+            long tied = 0;
+            if (i < first.size() && first.get(i)[0] == value) {
+                inFirst = first.get(i++)[1];
+                tied += inFirst;
+            }
+            if (j < second.size() && second.get(j)[0] == value) {
+                tied += second.get(j++)[1];
+            }
+            rankSum += inFirst * (ranked + (tied + 1) / 2.0);
+            tieSum += (double) tied * tied * tied - tied;
+            ranked += tied;
+        }
+
+        final double n = n1 + n2;
+        final double u = rankSum - n1 * (n1 + 1) / 2.0;
+        final double mean = n1 * (double) n2 / 2;
+        final double variance = n1 * (double) n2 / 12 * ((n + 1) - tieSum / (n * (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        final double z = Math.max(0, Math.abs(u - mean) - 0.5) / Math.sqrt(variance);
+        return Math.min(1, 2 * (1 - normalCdf(z)));
+    }
+
+    private static List<long[]> buckets(final LatencyHistogram histogram) {
+        final List<long[]> buckets = new ArrayList<>();
+        histogram.forEachBucket((value, count) -> buckets.add(new long[]{value, count}));
+        return buckets;
+    }
+
+    /**
+     * The standard normal cumulative distribution, from the Abramowitz and Stegun approximation of erf (7.1.26)
+     */
+    private static double normalCdf(final double z) {
+        final double x = Math.abs(z) / Math.sqrt(2);
+        final double t = 1 / (1 + 0.3275911 * x);
+        final double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 +
+                t * 1.061405429)))) * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Latency histograms for every request the tests make, keyed by test class, HTTP method and the kind of resource
+ * the request was made against, along with the requests made by each test.
+ *
+ * @author agent
+ */
+public class RequestMetrics {
+
+    private static final RequestMetrics INSTANCE = new RequestMetrics();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<TestRequestStats> currentTest = new ThreadLocal<>();
+
+    private final Map<String, TestRequestStats> tests = new ConcurrentHashMap<>();
+
+    /**
+     * @return the metrics for this run of the suite
+     */
+    public static RequestMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start collecting the requests made on this thread into a new set of per-test stats
+     */
+    public void beginTest() {
+        currentTest.set(new TestRequestStats());
+    }
+
+    /**
+     * @return the stats being collected on this thread, or null if no test is running on it
+     */
+    public TestRequestStats currentTest() {
+        return currentTest.get();
+    }
+
+    /**
+     * Collect the requests made on this thread into the stats of a test running on another thread
+     *
+     * @param stats the stats of that test, or null to stop collecting
+     */
+    public void setCurrentTest(final TestRequestStats stats) {
+        if (stats == null) {
+            currentTest.remove();
+        } else {
+            currentTest.set(stats);
+        }
+    }
+
+    /**
+     * Stop collecting per-test stats on this thread
+     *
+     * @param testId the ID of the test, under which its stats are written, or null to discard them
+     * @return the stats collected since {@link #beginTest()}, or null if it was not called
+     */
+    public TestRequestStats endTest(final String testId) {
+        final TestRequestStats stats = currentTest.get();
+        currentTest.remove();
+        if (stats != null) {
+            stats.finish();
+            if (testId != null) {
+                tests.put(testId, stats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Record a request
+     *
+     * @param testClass the simple name of the test class which made the request
+     * @param method the HTTP method
+     * @param resourceKind the kind of resource, see {@link RequestTimingFilter}
+     * @param uri the request URI
+     * @param bytes the number of bytes in the request and response bodies
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(final String testClass, final String method, final String resourceKind, final String uri,
+                       final long bytes, final long nanos) {
+        final Key key = new Key(testClass, method, resourceKind);
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+
+        final TestRequestStats stats = currentTest.get();
+        if (stats != null) {
+            stats.add(method, uri, bytes, nanos);
+        }
+    }
+
+    /**
+     * @return the histograms recorded so far, ordered by test class, method and resource kind
+     */
+    public SortedMap<Key, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Write the histograms as JSON
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(final File file) throws IOException {
+        final ObjectNode root = MAPPER.createObjectNode();
+        root.put("timestamp", Instant.now().toString());
+        final ArrayNode requests = root.putArray("requests");
+        for (final Map.Entry<Key, LatencyHistogram> entry : getHistograms().entrySet()) {
+            final ObjectNode node = requests.addObject();
+            node.put("testClass", entry.getKey().getTestClass());
+            node.put("method", entry.getKey().getMethod());
+            node.put("resourceKind", entry.getKey().getResourceKind());
+            HistogramJson.write(node, entry.getValue());
+        }
+
+        final ObjectNode testNodes = root.putObject("tests");
+        for (final Map.Entry<String, TestRequestStats> entry : new TreeMap<>(tests).entrySet()) {
+            final TestRequestStats stats = entry.getValue();
+            final ObjectNode node = testNodes.putObject(entry.getKey());
+            node.put("wallMillis", stats.getWallNanos() / 1e6);
+            node.put("requests", stats.getRequests());
+            node.put("bytes", stats.getBytes());
+            final ArrayNode latencies = node.putArray("latenciesNanos");
+            for (final long latency : stats.getLatencies()) {
+                latencies.add(latency);
+            }
+        }
+
+        file.getParentFile().mkdirs();
+        MAPPER.writeValue(file, root);
+    }
+
+    /**
+     * Identifies the requests sharing a histogram
+     */
+    public static final class Key implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::getTestClass)
+                                                                .thenComparing(Key::getMethod)
+                                                                .thenComparing(Key::getResourceKind);
+
+        private final String testClass;
+        private final String method;
+        private final String resourceKind;
+
+        private Key(final String testClass, final String method, final String resourceKind) {
+            this.testClass = testClass;
+            this.method = method;
+            this.resourceKind = resourceKind;
+        }
+
+        /**
+         * @return the simple name of the test class
+         */
+        public String getTestClass() {
+            return testClass;
+        }
+
+        /**
+         * @return the HTTP method
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * @return the kind of resource
+         */
+        public String getResourceKind() {
+            return resourceKind;
+        }
+
+        @Override
+        public int compareTo(final Key other) {
+            return ORDER.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return testClass.equals(other.testClass) && method.equals(other.method) &&
+                   resourceKind.equals(other.resourceKind);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(testClass, method, resourceKind);
+        }
+    }
+}
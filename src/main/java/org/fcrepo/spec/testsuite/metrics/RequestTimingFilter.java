@@ -0,0 +1,149 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.net.URI;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.fcrepo.spec.testsuite.LinkHeaders;
+
+/**
+ * A RestAssured filter which records the latency and body size of each request in {@link RequestMetrics}.  It
+ * should be the last filter added so that the time spent logging is not counted.
+ * <p>
+ * The resource kind is taken from the rel="type" links of the response, or of the request when the response has
+ * none (a POST of a new container, say): the most specific of NonRDFSource, BasicContainer, DirectContainer,
+ * IndirectContainer, Container, RDFSource, Memento and TimeMap, or "other".
+ *
+ * @author agent
+ */
+public class RequestTimingFilter implements Filter {
+
+    private static final String LDP = "http://www.w3.org/ns/ldp#";
+
+    private static final String MEMENTO = "http://mementoweb.org/ns#";
+
+    /**
+     * Resource types from most to least specific
+     */
+    private static final String[][] KINDS = {
+        {MEMENTO + "TimeMap", "TimeMap"},
+        {MEMENTO + "Memento", "Memento"},
+        {LDP + "NonRDFSource", "NonRDFSource"},
+        {LDP + "BasicContainer", "BasicContainer"},
+        {LDP + "DirectContainer", "DirectContainer"},
+        {LDP + "IndirectContainer", "IndirectContainer"},
+        {LDP + "Container", "Container"},
+        {LDP + "RDFSource", "RDFSource"},
+    };
+
+    private static final String OTHER = "other";
+
+    private final String testClass;
+
+    /**
+     * Constructor
+     *
+     * @param testClass the class whose requests are being timed
+     */
+    public RequestTimingFilter(final Class<?> testClass) {
+        this.testClass = testClass.getSimpleName();
+    }
+
+    @Override
+    public Response filter(final FilterableRequestSpecification requestSpec,
+                           final FilterableResponseSpecification responseSpec, final FilterContext ctx) {
+        final long start = System.nanoTime();
+        final Response response = ctx.next(requestSpec, responseSpec);
+        final long elapsed = System.nanoTime() - start;
+
+        String kind = resourceKind(() -> LinkHeaders.of(response));
+        if (kind == null) {
+            kind = resourceKind(() -> LinkHeaders.parse(
+                requestSpec.getHeaders().getList("Link").stream().map(Header::getValue)));
+        }
+        final long bytes = requestBytes(requestSpec) + responseBytes(requestSpec, response);
+        RequestMetrics.get().record(testClass, requestSpec.getMethod(), kind == null ? OTHER : kind,
+                                    requestSpec.getURI(), bytes, elapsed);
+        return response;
+    }
+
+    private static long requestBytes(final FilterableRequestSpecification requestSpec) {
+        final Object body = requestSpec.getBody();
+        if (body instanceof String) {
+            return ((String) body).getBytes(UTF_8).length;
+        } else if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        } else if (body instanceof File) {
+            return ((File) body).length();
+        }
+        return 0;
+    }
+
+    private static long responseBytes(final FilterableRequestSpecification requestSpec,
+                                      final Response response) {
+        if ("HEAD".equals(requestSpec.getMethod())) {
+            return 0;
+        }
+        final String length = response.getHeader("Content-Length");
+        if (length != null) {
+            try {
+                return Long.parseLong(length.trim());
+            } catch (final NumberFormatException e) {
+                // fall through to the body
+            }
+        }
+        // RestAssured buffers the body, so reading it here leaves it available to the test
+        return response.asByteArray().length;
+    }
+
+    /**
+     * @param links supplies the links to classify
+     * @return the most specific resource kind among the rel="type" links, or null if there is none
+     */
+    private static String resourceKind(final Supplier<LinkHeaders> links) {
+        final List<String> types;
+        try {
+            types = links.get().uris("type").map(URI::toString).collect(Collectors.toList());
+        } catch (final IllegalArgumentException e) {
+            // A malformed Link header is for the test to report, not the timing filter
+            return null;
+        }
+        int best = KINDS.length;
+        for (final String type : types) {
+            for (int i = 0; i < best; i++) {
+                if (KINDS[i][0].equals(type)) {
+                    best = i;
+                    break;
+                }
+            }
+        }
+        return best < KINDS.length ? KINDS[best][1] : null;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.metrics;
+
+import java.util.Arrays;
+
+/**
+ * The requests made by a single test: how many, how long each took, how many bytes were sent and received, and which
+ * was slowest.  A test's wall time runs from the creation of its stats to {@link #finish()}.
+ *
+ * @author agent
+ */
+public class TestRequestStats {
+
+    /**
+     * The test result attribute holding the stats of that test
+     */
+    public static final String ATTRIBUTE = "requestStats";
+
+    private final long startNanos = System.nanoTime();
+
+    private long wallNanos = -1;
+
+    private long[] latencies = new long[4];
+
+    private int requests;
+
+    private long bytes;
+
+    private long slowestNanos = -1;
+
+    private String slowestRequest;
+
+    /**
+     * Add a request
+     *
+     * @param method the HTTP method
+     * @param uri the request URI
+     * @param bytes the number of bytes in the request and response bodies
+     * @param nanos the latency in nanoseconds
+     */
+    public synchronized void add(final String method, final String uri, final long bytes, final long nanos) {
+        if (requests == latencies.length) {
+            latencies = Arrays.copyOf(latencies, requests * 2);
+        }
+        latencies[requests++] = nanos;
+        this.bytes += bytes;
+        if (nanos > slowestNanos) {
+            slowestNanos = nanos;
+            slowestRequest = method + " " + uri;
+        }
+    }
+
+    /**
+     * Add all requests of another test
+     *
+     * @param other the stats to add
+     */
+    public synchronized void add(final TestRequestStats other) {
+        synchronized (other) {
+            if (requests + other.requests > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(requests + other.requests, requests * 2));
+            }
+            System.arraycopy(other.latencies, 0, latencies, requests, other.requests);
+            this.requests += other.requests;
+            this.bytes += other.bytes;
+            if (other.slowestNanos > slowestNanos) {
+                slowestNanos = other.slowestNanos;
+                slowestRequest = other.slowestRequest;
+            }
+        }
+    }
+
+    /**
+     * Mark the end of the test
+     */
+    public synchronized void finish() {
+        wallNanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * @return the wall time of the test in nanoseconds, or -1 if it has not finished
+     */
+    public synchronized long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return the latency of each request in nanoseconds, in the order they were made
+     */
+    public synchronized long[] getLatencies() {
+        return Arrays.copyOf(latencies, requests);
+    }
+
+    /**
+     * @return the number of requests
+     */
+    public synchronized int getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return the number of bytes in the request and response bodies
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the latency of the slowest request in nanoseconds, or -1 if there were no requests
+     */
+    public synchronized long getSlowestNanos() {
+        return slowestNanos;
+    }
+
+    /**
+     * @return the method and URI of the slowest request, or null if there were no requests
+     */
+    public synchronized String getSlowestRequest() {
+        return slowestRequest;
+    }
+}
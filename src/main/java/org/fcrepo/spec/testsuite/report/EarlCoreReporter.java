@@ -17,22 +17,34 @@
  */
 package org.fcrepo.spec.testsuite.report;
 
-import java.io.BufferedWriter;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.util.HashMap;
 import java.util.Map.Entry;
 
-import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.atlas.io.IndentedWriter;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.writer.WriterStreamRDFFlat;
 import org.fcrepo.spec.testsuite.TestSuiteGlobals;
 import org.openrdf.model.vocabulary.EARL;
 
 /**
+ * Writes EARL triples straight to the report file as they are produced, rather than collecting them in a model, so
+ * memory use does not grow with the number of tests and everything emitted before a crash is already on disk.
+ *
  * @author Jorge Abrego, Fernando Cardoza
  */
 public abstract class EarlCoreReporter {
@@ -52,6 +64,8 @@ public abstract class EarlCoreReporter {
     public final static Property untested = ResourceFactory.createProperty(EARL.NAMESPACE + "untested");
     private static final HashMap<String, String> prefixes = new HashMap<>();
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     static {
         prefixes.put("earl", "http://www.w3.org/ns/earl#");
         prefixes.put("rdf", "http://www.w3.org/1999/02/22-rdf-syntax-ns#");
@@ -60,8 +74,9 @@ public abstract class EarlCoreReporter {
         prefixes.put("ldpt", TestSuiteGlobals.ldptNamespace);
     }
 
-    private BufferedWriter writer;
-    protected Model model;
+    private OutputStream out;
+    private StreamRDF stream;
+    private IndentedWriter writer;
 
     protected void createWriter(final String directory) throws IOException {
         final File dir = new File(directory);
@@ -69,31 +84,45 @@ public abstract class EarlCoreReporter {
 
         final String fileName = TestSuiteGlobals.outputName + "-execution-report-earl.ttl";
         final File file = new File(dir, fileName);
-        writer = new BufferedWriter(new FileWriter(file));
+        out = new BufferedOutputStream(
+            Channels.newOutputStream(FileChannel.open(file.toPath(), CREATE, TRUNCATE_EXISTING, WRITE)), BUFFER_SIZE);
+
+        // The flat Turtle writer emits each triple as it arrives, with no grouping by subject
+        writer = new IndentedWriter(out);
+        stream = new WriterStreamRDFFlat(writer);
+        stream.start();
+        writePrefixes();
     }
 
-    protected void write() {
-        model.write(writer, TestSuiteGlobals.earlReportSyntax);
+    /**
+     * Write a single triple to the report
+     *
+     * @param subject
+     * @param predicate
+     * @param object
+     */
+    protected synchronized void emit(final Node subject, final Property predicate, final Node object) {
+        stream.triple(Triple.create(subject, predicate.asNode(), object));
     }
 
-    protected void endWriter() throws IOException {
+    /**
+     * Push everything emitted so far to the report file
+     */
+    protected synchronized void flush() {
         writer.flush();
-        writer.close();
     }
 
-    protected void createModel() {
-        model = ModelFactory.createDefaultModel();
-        writePrefixes(model);
+    protected synchronized void endWriter() throws IOException {
+        stream.finish();
+        out.close();
     }
 
     /**
      * Write RDF prefixes
-     *
-     * @param model
      */
-    private void writePrefixes(final Model model) {
+    private void writePrefixes() {
         for (Entry<String, String> prefix : prefixes.entrySet()) {
-            model.setNsPrefix(prefix.getKey(), prefix.getValue());
+            stream.prefix(prefix.getKey(), prefix.getValue());
         }
     }
 }
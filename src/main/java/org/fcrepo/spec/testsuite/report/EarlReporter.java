@@ -17,39 +17,36 @@
  */
 package org.fcrepo.spec.testsuite.report;
 
+import static org.fcrepo.spec.testsuite.TestSuiteGlobals.testDetails;
+
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Paths;
 import java.util.GregorianCalendar;
-import java.util.List;
-import java.util.Map;
 
-import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.ResourceFactory;
 import org.apache.jena.vocabulary.DCTerms;
 import org.apache.jena.vocabulary.RDF;
 import org.fcrepo.spec.testsuite.App;
 import org.fcrepo.spec.testsuite.TestSuiteGlobals;
-import org.testng.IReporter;
-import org.testng.IResultMap;
 import org.testng.ISuite;
-import org.testng.ISuiteResult;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
-import org.testng.xml.XmlSuite;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
 
 /**
+ * Streams an EARL assertion for each test as soon as TestNG reports its result.
+ *
  * @author Jorge Abrego, Fernando Cardoza
  */
-public class EarlReporter extends EarlCoreReporter implements IReporter {
-    private static final String PASS = "TEST PASSED";
-    private static final String FAIL = "TEST FAILED";
-    private static final String SKIP = "TEST SKIPPED";
-    private IResultMap passedTests;
-    private IResultMap failedTests;
-    private IResultMap skippedTests;
+public class EarlReporter extends EarlCoreReporter implements ISuiteListener, ITestListener {
+
+    private final Node assertor = NodeFactory.createURI(TestSuiteGlobals.earlReportAssertor);
 
     @Override
-    public void generateReport(final List<XmlSuite> xmlSuites, final List<ISuite> suites,
-                               final String outputDirectory) {
+    public void onStart(final ISuite suite) {
         try {
             final String myOutputDirectory = Paths.get(App.getOutputDirectory(),
                     TestSuiteGlobals.reportOutputDirectory).toString();
@@ -58,14 +55,13 @@ public class EarlReporter extends EarlCoreReporter implements IReporter {
             e.printStackTrace(System.err);
             System.exit(1);
         }
-        createModel();
-        try {
-            createAssertions(suites);
-        } catch (NoSuchMethodException | InstantiationException | InvocationTargetException |
-                IllegalAccessException e) {
-            e.printStackTrace();
-        }
-        write();
+        // Make the Assertor Resource (the thing doing the testing)
+        emit(assertor, RDF.type, Assertor.asNode());
+        flush();
+    }
+
+    @Override
+    public void onFinish(final ISuite suite) {
         try {
             endWriter();
         } catch (IOException e) {
@@ -74,73 +70,72 @@ public class EarlReporter extends EarlCoreReporter implements IReporter {
         }
     }
 
-    private void createAssertions(final List<ISuite> suites) throws
-        NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
-        for (ISuite suite : suites) {
-            // Make the Assertor Resource (the thing doing the testing)
-            final Resource assertorRes = model.createResource(TestSuiteGlobals.earlReportAssertor);
-            assertorRes.addProperty(RDF.type, Assertor);
-
-            final Map<String, ISuiteResult> tests = suite.getResults();
-            for (ISuiteResult results : tests.values()) {
-                final ITestContext testContext = results.getTestContext();
-                passedTests = testContext.getPassedTests();
-                failedTests = testContext.getFailedTests();
-                skippedTests = testContext.getSkippedTests();
-            }
-
-            final Map<String, String[]> r = TestSuiteGlobals.orderTestsResults(passedTests, skippedTests, failedTests);
-            getResultProperties(r);
-        }
+    @Override
+    public void onTestSuccess(final ITestResult result) {
+        makeResultResource(testDetails(result, "PASS"));
     }
 
-    private void getResultProperties(final Map<String, String[]> tests) {
-        for (String[] r : tests.values()) {
-            makeResultResource(r);
-        }
+    @Override
+    public void onTestFailure(final ITestResult result) {
+        makeResultResource(testDetails(result, "FAIL"));
     }
 
-    private void makeResultResource(final String[] result) {
-        final Resource assertionResource = model.createResource(null, Assertion);
+    @Override
+    public void onTestSkipped(final ITestResult result) {
+        makeResultResource(testDetails(result, "SKIPPED"));
+    }
 
-        final Resource resultResource = model.createResource(null, TestResult);
+    @Override
+    public void onTestStart(final ITestResult result) {
+    }
 
-        final Resource subjectResource = model.getResource(result[0]);
-        final Resource assertorResource = model.getResource(TestSuiteGlobals.earlReportAssertor);
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(final ITestResult result) {
+    }
 
-        assertionResource.addProperty(testSubject, subjectResource);
+    @Override
+    public void onStart(final ITestContext context) {
+    }
 
-        assertionResource.addProperty(test, model.getResource(result[3]));
+    @Override
+    public void onFinish(final ITestContext context) {
+    }
+
+    private synchronized void makeResultResource(final String[] result) {
+        final Node assertionResource = NodeFactory.createBlankNode();
+        final Node resultResource = NodeFactory.createBlankNode();
+
+        emit(assertionResource, RDF.type, Assertion.asNode());
+        emit(assertionResource, testSubject, NodeFactory.createURI(result[0]));
+        emit(assertionResource, test, NodeFactory.createURI(result[3]));
+        emit(assertionResource, assertedBy, assertor);
 
+        emit(resultResource, RDF.type, TestResult.asNode());
         switch (result[1]) {
             case "FAIL":
-                resultResource.addProperty(outcome, failed);
+                emit(resultResource, outcome, failed.asNode());
                 break;
             case "PASS":
-                resultResource.addProperty(outcome, passed);
+                emit(resultResource, outcome, passed.asNode());
                 break;
             case "SKIPPED":
-                resultResource.addProperty(outcome, untested);
+                emit(resultResource, outcome, untested.asNode());
                 break;
             default:
                 break;
         }
 
         if (!result[4].isEmpty()) {
-            createExceptionProperty(result[4], resultResource);
+            emit(resultResource, DCTerms.description, NodeFactory.createLiteral(result[4]));
         }
 
-        assertionResource.addProperty(assertedBy, assertorResource);
-
-        resultResource.addProperty(DCTerms.date, model.createTypedLiteral(GregorianCalendar.getInstance()));
+        emit(resultResource, DCTerms.date,
+             ResourceFactory.createTypedLiteral(GregorianCalendar.getInstance()).asNode());
 
         /*
          * Add the above resources to the Assertion Resource
          */
-        assertionResource.addProperty(testResult, resultResource);
-    }
-
-    private void createExceptionProperty(final String stackTrace, final Resource resource) {
-        resource.addProperty(DCTerms.description, stackTrace);
+        emit(assertionResource, testResult, resultResource);
+        flush();
     }
 }
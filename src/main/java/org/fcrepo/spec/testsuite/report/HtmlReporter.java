@@ -27,14 +27,20 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 
 import org.fcrepo.spec.testsuite.App;
+import org.fcrepo.spec.testsuite.TestInfo;
 import org.fcrepo.spec.testsuite.TestParameters;
 import org.fcrepo.spec.testsuite.TestSuiteGlobals;
+import org.fcrepo.spec.testsuite.metrics.LatencyHistogram;
+import org.fcrepo.spec.testsuite.metrics.RequestMetrics;
+import org.fcrepo.spec.testsuite.metrics.TestRequestStats;
 import org.rendersnake.HtmlCanvas;
 import org.rendersnake.StringResource;
 import org.springframework.format.number.PercentFormatter;
@@ -55,6 +61,20 @@ public class HtmlReporter implements IReporter {
     private IResultMap failedTests;
     private IResultMap skippedTests;
     private HtmlCanvas html;
+    private Map<String, ITestResult> resultsById;
+
+    /**
+     * The specification sections rolled up in the report, by the leading number of the test IDs
+     */
+    private static final Map<String, String> SECTIONS = new LinkedHashMap<>();
+
+    static {
+        SECTIONS.put("3", "3.x CRUD");
+        SECTIONS.put("4", "4.x Versioning");
+        SECTIONS.put("5", "5.x WebAC");
+        SECTIONS.put("6", "6.x Notifications");
+        SECTIONS.put("RFC7233", "RFC 7233 Range Requests (not part of the specification)");
+    }
 
     /**
      * Generate HTML report main method
@@ -92,13 +112,20 @@ public class HtmlReporter implements IReporter {
                 passedTests = tc.getPassedTests();
                 failedTests = tc.getFailedTests();
                 skippedTests = tc.getSkippedTests();
+                resultsById = indexResults(passedTests, skippedTests, failedTests);
 
                 // Display results summary
                 displayResultsSummary();
 
+                // Display performance by specification section
+                makeSectionPerformanceTable();
+
                 //Display methods summary
                 makeMethodSummaryTable();
 
+                //Display request latencies
+                makeRequestLatencyTable();
+
                 // Add footer
                 displayFooter();
 
@@ -225,7 +252,11 @@ public class HtmlReporter implements IReporter {
         html.th().content("Req Level");
         html.th().content("Result");
         html.th().content("Test Description");
-        html.th().content("Implementation Note")._tr();
+        html.th().content("Implementation Note");
+        html.th().content("Wall Time (ms)");
+        html.th().content("Requests");
+        html.th().content("Bytes");
+        html.th().content("Slowest Request")._tr();
         final Map<String, String[]> results = orderTestsResults(passedTests, skippedTests, failedTests);
 
         final Map<String, String> implNotes = App.getImplementationNotes();
@@ -236,10 +267,135 @@ public class HtmlReporter implements IReporter {
             html.td().span(class_(r[1])).content(r[1])._td();
             html.td().content(r[2]);
             html.td().content(implNotes.getOrDefault(r[3], ""));
+            final ITestResult result = resultsById.get(r[3]);
+            final TestRequestStats stats = requestStats(result);
+            html.td().content(String.valueOf(result.getEndMillis() - result.getStartMillis()));
+            html.td().content(String.valueOf(stats.getRequests()));
+            html.td().content(bytes(stats.getBytes()));
+            html.td().content(slowest(stats));
+            html._tr();
+        }
+
+        html._table();
+        html.br();
+    }
+
+    private void makeRequestLatencyTable() throws IOException {
+        final Map<RequestMetrics.Key, LatencyHistogram> histograms = RequestMetrics.get().getHistograms();
+        if (histograms.isEmpty()) {
+            return;
+        }
+        html.h2().content("Request Latency");
+        html.table(class_("indented"));
+        html.tr().th().content("Test Class");
+        html.th().content("Method");
+        html.th().content("Resource Kind");
+        html.th().content("Requests");
+        html.th().content("p50 (ms)");
+        html.th().content("p95 (ms)");
+        html.th().content("p99 (ms)");
+        html.th().content("Max (ms)")._tr();
+
+        for (Map.Entry<RequestMetrics.Key, LatencyHistogram> entry : histograms.entrySet()) {
+            final LatencyHistogram h = entry.getValue();
+            html.tr();
+            html.td().content(entry.getKey().getTestClass());
+            html.td().content(entry.getKey().getMethod());
+            html.td().content(entry.getKey().getResourceKind());
+            html.td().content(String.valueOf(h.getCount()));
+            html.td().content(millis(h.getValueAtPercentile(50)));
+            html.td().content(millis(h.getValueAtPercentile(95)));
+            html.td().content(millis(h.getValueAtPercentile(99)));
+            html.td().content(millis(h.getMax()));
             html._tr();
         }
 
         html._table();
         html.br();
     }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+
+    private void makeSectionPerformanceTable() throws IOException {
+        // Per section: number of tests, summed test time, first start and last end
+        final Map<String, long[]> totals = new LinkedHashMap<>();
+        final Map<String, TestRequestStats> requests = new LinkedHashMap<>();
+        for (final String section : SECTIONS.keySet()) {
+            totals.put(section, newSectionTotal());
+            requests.put(section, new TestRequestStats());
+        }
+        for (final Map.Entry<String, ITestResult> entry : resultsById.entrySet()) {
+            final String section = entry.getKey().split("[.-]", 2)[0];
+            final ITestResult result = entry.getValue();
+            final long[] total = totals.computeIfAbsent(section, k -> newSectionTotal());
+            total[0]++;
+            total[1] += result.getEndMillis() - result.getStartMillis();
+            total[2] = Math.min(total[2], result.getStartMillis());
+            total[3] = Math.max(total[3], result.getEndMillis());
+            requests.computeIfAbsent(section, k -> new TestRequestStats()).add(requestStats(result));
+        }
+
+        html.h2().content("Performance by Specification Section");
+        html.table(class_("indented"));
+        html.tr().th().content("Section");
+        html.th().content("Tests");
+        html.th().content("Wall Time (s)");
+        html.th().content("Summed Test Time (s)");
+        html.th().content("Requests");
+        html.th().content("Bytes");
+        html.th().content("Slowest Request")._tr();
+        for (final Map.Entry<String, long[]> entry : totals.entrySet()) {
+            final long[] total = entry.getValue();
+            final TestRequestStats stats = requests.get(entry.getKey());
+            html.tr();
+            html.td().content(SECTIONS.getOrDefault(entry.getKey(), entry.getKey()));
+            html.td().content(String.valueOf(total[0]));
+            // With --parallel the tests of a section overlap, so their summed time may exceed the wall time
+            html.td().content(String.format(Locale.ROOT, "%.1f", total[0] == 0 ? 0 : (total[3] - total[2]) / 1000.0));
+            html.td().content(String.format(Locale.ROOT, "%.1f", total[1] / 1000.0));
+            html.td().content(String.valueOf(stats.getRequests()));
+            html.td().content(bytes(stats.getBytes()));
+            html.td().content(slowest(stats));
+            html._tr();
+        }
+        html._table();
+        html.br();
+    }
+
+    private static long[] newSectionTotal() {
+        return new long[] {0, 0, Long.MAX_VALUE, Long.MIN_VALUE};
+    }
+
+    private static Map<String, ITestResult> indexResults(final IResultMap... resultMaps) {
+        final Map<String, ITestResult> index = new TreeMap<>();
+        for (final IResultMap resultMap : resultMaps) {
+            for (final ITestResult result : resultMap.getAllResults()) {
+                index.put(TestInfo.getByMethodName(result.getMethod().getMethodName()).getId(), result);
+            }
+        }
+        return index;
+    }
+
+    private static TestRequestStats requestStats(final ITestResult result) {
+        final Object stats = result.getAttribute(TestRequestStats.ATTRIBUTE);
+        return stats instanceof TestRequestStats ? (TestRequestStats) stats : new TestRequestStats();
+    }
+
+    private static String slowest(final TestRequestStats stats) {
+        if (stats.getSlowestRequest() == null) {
+            return "";
+        }
+        return stats.getSlowestRequest() + " (" + millis(stats.getSlowestNanos()) + " ms)";
+    }
+
+    private static String bytes(final long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KiB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MiB", bytes / (1024.0 * 1024));
+    }
 }
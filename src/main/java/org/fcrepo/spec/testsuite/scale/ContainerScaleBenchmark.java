@@ -0,0 +1,155 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.scale;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.restassured.http.Header;
+import org.fcrepo.spec.testsuite.AbstractTest;
+import org.fcrepo.spec.testsuite.TestParameters;
+import org.fcrepo.spec.testsuite.TreeSpec;
+import org.fcrepo.spec.testsuite.TreeSpec.InteractionModel;
+import org.fcrepo.spec.testsuite.benchmark.Benchmark;
+import org.fcrepo.spec.testsuite.benchmark.BenchmarkResult;
+import org.fcrepo.spec.testsuite.metrics.LatencyHistogram;
+
+/**
+ * Grows a container of each interaction model through a series of sizes, creating the children with concurrent
+ * POSTs, and at each size measures the latency and size of a GET of the container, both in full and with
+ * containment triples omitted.  Together the steps give a scaling curve per interaction model.
+ * <p>
+ * Operations are named "&lt;model&gt; &lt;size&gt; full" and "&lt;model&gt; &lt;size&gt; omit", with the response
+ * sizes in the counters of the same name followed by "bytes".
+ *
+ * @author agent
+ */
+public class ContainerScaleBenchmark extends AbstractTest implements Benchmark {
+
+    private static final String DEFAULT_SIZES = "1000,10000,100000";
+
+    private static final String DEFAULT_MODELS = "basic,direct,indirect";
+
+    private static final Header OMIT_CONTAINMENT = new Header(
+        "Prefer", "return=representation; omit=\"http://www.w3.org/ns/ldp#PreferContainment\"");
+
+    private static final Map<String, InteractionModel> MODELS = new LinkedHashMap<>();
+
+    static {
+        MODELS.put("basic", InteractionModel.BASIC_CONTAINER);
+        MODELS.put("direct", InteractionModel.DIRECT_CONTAINER);
+        MODELS.put("indirect", InteractionModel.INDIRECT_CONTAINER);
+    }
+
+    private BenchmarkResult result;
+
+    private final List<String> curve = new ArrayList<>();
+
+    @Override
+    public String getName() {
+        return "container-scale";
+    }
+
+    @Override
+    public BenchmarkResult run() throws Exception {
+        final TestParameters params = TestParameters.get();
+        final List<Integer> sizes = ScaleSteps.parse(TestParameters.SCALE_SIZES_PARAM,
+                                                     params.getScaleSizes().isEmpty() ? DEFAULT_SIZES :
+                                                     params.getScaleSizes());
+        final List<String> models = parseModels(params.getScaleModels().isEmpty() ? DEFAULT_MODELS :
+                                                params.getScaleModels());
+        final int samples = params.getScaleSamples();
+        final int concurrency = params.getScaleConcurrency();
+        if (samples < 1 || concurrency < 1) {
+            throw new RuntimeException(TestParameters.SCALE_SAMPLES_PARAM + " and " +
+                                       TestParameters.SCALE_CONCURRENCY_PARAM + " must be at least 1");
+        }
+
+        result = new BenchmarkResult(getName());
+        final long start = System.nanoTime();
+        for (final String model : models) {
+            final String container = provisionTree(uri, TreeSpec.tree().depth(0).model(MODELS.get(model))).getRoot();
+            int children = 0;
+            for (final int size : sizes) {
+                final long grown = System.nanoTime();
+                populateContainer(container, TreeSpec.tree()
+                                                     .depth(1)
+                                                     .fanOut(size - children)
+                                                     .leafModel(InteractionModel.RDF_SOURCE)
+                                                     .parallelism(concurrency), children);
+                result.setCounter(model + " " + size + " create ms",
+                                  TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - grown));
+                children = size;
+
+                final String step = model + " " + size;
+                final long full = measure(container, step + " full", null, samples);
+                final long omit = measure(container, step + " omit", OMIT_CONTAINMENT, samples);
+                curve.add(String.format(Locale.ROOT, "%-10s %8d %12.2f %12d %12.2f %12d", model, size,
+                                        result.histogram(step + " full").getValueAtPercentile(50) / 1e6, full,
+                                        result.histogram(step + " omit").getValueAtPercentile(50) / 1e6, omit));
+            }
+        }
+        result.setElapsedNanos(System.nanoTime() - start);
+        result.setCounter("concurrency", concurrency);
+
+        System.out.println();
+        System.out.println("Container scaling curve");
+        System.out.println(String.format(Locale.ROOT, "%-10s %8s %12s %12s %12s %12s", "model", "children",
+                                         "full p50 ms", "full bytes", "omit p50 ms", "omit bytes"));
+        curve.forEach(System.out::println);
+        return result;
+    }
+
+    /**
+     * GET the container repeatedly after one unmeasured request, recording the latency of each including the time
+     * to read the body
+     *
+     * @return the size of the last response body
+     */
+    private long measure(final String container, final String operation, final Header prefer, final int samples) {
+        final LatencyHistogram histogram = result.histogram(operation);
+        long bytes = 0;
+        for (int i = 0; i <= samples; i++) {
+            final long start = System.nanoTime();
+            bytes = (prefer == null ? doGet(container) : doGet(container, prefer)).asByteArray().length;
+            if (i > 0) {
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+        result.setCounter(operation + " bytes", bytes);
+        return bytes;
+    }
+
+    private static List<String> parseModels(final String value) {
+        final List<String> models = new ArrayList<>();
+        for (final String model : value.split(",")) {
+            final String name = model.trim().toLowerCase(Locale.ROOT);
+            if (!MODELS.containsKey(name)) {
+                throw new RuntimeException("Unknown interaction model \"" + model + "\" in " +
+                                           TestParameters.SCALE_MODELS_PARAM + "; expected one of " +
+                                           MODELS.keySet());
+            }
+            models.add(name);
+        }
+        return models;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.scale;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import io.restassured.response.Response;
+import org.fcrepo.spec.testsuite.AbstractTest;
+import org.fcrepo.spec.testsuite.TestParameters;
+import org.fcrepo.spec.testsuite.benchmark.Benchmark;
+import org.fcrepo.spec.testsuite.benchmark.BenchmarkResult;
+import org.fcrepo.spec.testsuite.metrics.LatencyHistogram;
+
+/**
+ * Builds chains of nested basic containers and measures how request latency changes with path depth.  For each
+ * depth it creates a chain of that many containers, then creates, GETs, HEADs and deletes resources at the bottom of
+ * the chain, and finally deletes the top of the chain, which removes the whole chain recursively as
+ * {@link org.fcrepo.spec.testsuite.ResourceCleanupManager} does with the test container.
+ * <p>
+ * Operations are named "&lt;depth&gt; create", "&lt;depth&gt; get", "&lt;depth&gt; head", "&lt;depth&gt; delete" and
+ * "&lt;depth&gt; delete-recursive", where depth is the number of containers above the resource acted on.
+ *
+ * @author agent
+ */
+public class HierarchyDepthBenchmark extends AbstractTest implements Benchmark {
+
+    private static final String DEFAULT_DEPTHS = "10,100,1000";
+
+    private static final String[] OPERATIONS = {"create", "get", "head", "delete", "delete-recursive"};
+
+    private BenchmarkResult result;
+
+    @Override
+    public String getName() {
+        return "hierarchy-depth";
+    }
+
+    @Override
+    public BenchmarkResult run() throws Exception {
+        final TestParameters params = TestParameters.get();
+        final List<Integer> depths = ScaleSteps.parse(TestParameters.SCALE_DEPTHS_PARAM,
+                                                      params.getScaleDepths().isEmpty() ? DEFAULT_DEPTHS :
+                                                      params.getScaleDepths());
+        final int samples = params.getScaleSamples();
+        if (samples < 1) {
+            throw new RuntimeException(TestParameters.SCALE_SAMPLES_PARAM + " must be at least 1");
+        }
+
+        result = new BenchmarkResult(getName());
+        final long start = System.nanoTime();
+        for (final int depth : depths) {
+            measure(depth, samples);
+        }
+        result.setElapsedNanos(System.nanoTime() - start);
+
+        printScaling(depths);
+        return result;
+    }
+
+    private void measure(final int depth, final int samples) {
+        final long built = System.nanoTime();
+        final String top = getLocation(createBasicContainer(uri, "chain-" + depth));
+        String bottom = top;
+        for (int i = 1; i < depth; i++) {
+            bottom = getLocation(createBasicContainer(bottom, "d" + i));
+        }
+        result.setCounter(depth + " build ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - built));
+
+        final List<String> leaves = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            final long t = System.nanoTime();
+            leaves.add(getLocation(createBasicContainer(bottom, "leaf" + i)));
+            result.histogram(depth + " create").record(System.nanoTime() - t);
+        }
+        for (final String leaf : leaves) {
+            final long t = System.nanoTime();
+            doGet(leaf).asByteArray();
+            result.histogram(depth + " get").record(System.nanoTime() - t);
+        }
+        for (final String leaf : leaves) {
+            final long t = System.nanoTime();
+            doHead(leaf);
+            result.histogram(depth + " head").record(System.nanoTime() - t);
+        }
+        for (final String leaf : leaves) {
+            final long t = System.nanoTime();
+            doDelete(leaf);
+            result.histogram(depth + " delete").record(System.nanoTime() - t);
+        }
+
+        // Not every server allows a container with children to be deleted, so record the outcome rather than fail
+        final long t = System.nanoTime();
+        final Response response = doDeleteUnverified(top, true);
+        final long elapsed = System.nanoTime() - t;
+        if (response.statusCode() == 204) {
+            result.histogram(depth + " delete-recursive").record(elapsed);
+        } else {
+            result.setCounter(depth + " delete-recursive status", response.statusCode());
+        }
+    }
+
+    /**
+     * Print the median latency of each operation by depth, with the exponent k of the fit latency ~ depth^k between
+     * the shallowest and deepest chains: 0 means latency does not depend on depth and 1 that it grows linearly
+     */
+    private void printScaling(final List<Integer> depths) {
+        System.out.println();
+        System.out.println("Median latency (ms) by depth");
+        final StringBuilder header = new StringBuilder(String.format(Locale.ROOT, "%-8s", "depth"));
+        for (final String op : OPERATIONS) {
+            header.append(String.format(Locale.ROOT, " %16s", op));
+        }
+        System.out.println(header);
+        for (final int depth : depths) {
+            final StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "%-8d", depth));
+            for (final String op : OPERATIONS) {
+                final long median = median(depth, op);
+                row.append(median >= 0 ? String.format(Locale.ROOT, " %16.2f", median / 1e6) :
+                           String.format(Locale.ROOT, " %16s", "-"));
+            }
+            System.out.println(row);
+        }
+        if (depths.size() > 1) {
+            final int first = depths.get(0);
+            final int last = depths.get(depths.size() - 1);
+            final StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "%-8s", "exponent"));
+            for (final String op : OPERATIONS) {
+                final long from = median(first, op);
+                final long to = median(last, op);
+                row.append(from > 0 && to > 0 ?
+                           String.format(Locale.ROOT, " %16.2f", Math.log((double) to / from) /
+                                                                 Math.log((double) last / first)) :
+                           String.format(Locale.ROOT, " %16s", "-"));
+            }
+            System.out.println(row);
+        }
+    }
+
+    /**
+     * @return the median latency of an operation at a depth, or -1 if it was not measured there
+     */
+    private long median(final int depth, final String op) {
+        final LatencyHistogram histogram = result.findHistogram(depth + " " + op);
+        return histogram == null || histogram.getCount() == 0 ? -1 : histogram.getValueAtPercentile(50);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.spec.testsuite.scale;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the sizes a scale benchmark steps through.
+ *
+ * @author agent
+ */
+final class ScaleSteps {
+
+    private ScaleSteps() {
+    }
+
+    /**
+     * @param param the name of the argument, for error messages
+     * @param value positive, increasing integers separated by ','
+     * @return the sizes
+     */
+    static List<Integer> parse(final String param, final String value) {
+        final List<Integer> sizes = new ArrayList<>();
+        for (final String size : value.split(",")) {
+            final int parsed;
+            try {
+                parsed = Integer.parseInt(size.trim());
+            } catch (final NumberFormatException e) {
+                throw new RuntimeException("Argument \"" + param + "\" must be a list of integers: " + value);
+            }
+            if (parsed <= (sizes.isEmpty() ? 0 : sizes.get(sizes.size() - 1))) {
+                throw new RuntimeException("Argument \"" + param + "\" must be positive and increasing: " + value);
+            }
+            sizes.add(parsed);
+        }
+        return sizes;
+    }
+}
@@ -50,6 +50,16 @@ public class AbstractVersioningTest extends AbstractTest {
         return getLinksOfRelTypeAsUris(response, "timemap").findFirst().get();
     }
 
+    /**
+     * Find the timemap of a resource from its Link headers, without retrieving the resource
+     *
+     * @param resourceUri the original resource
+     * @return the timemap URI
+     */
+    protected URI getTimeMapUri(final String resourceUri) {
+        return discoverLinks(resourceUri, "timemap").findFirst().get();
+    }
+
     protected Response createVersionedResource(final String uri, final TestInfo info) {
         final Headers headers = new Headers(
             new Header("Link", ORIGINAL_RESOURCE_LINK_HEADER),
@@ -158,8 +168,7 @@ public class AbstractVersioningTest extends AbstractTest {
      */
     protected String createMemento(final String originalResourceUri, final String mementoDateTime,
                                    final String contentType, final String body) {
-        final Response response = doGet(originalResourceUri);
-        final URI timeMapURI = getTimeMapUri(response);
+        final URI timeMapURI = getTimeMapUri(originalResourceUri);
         final Headers headers = new Headers(new Header("Content-Type", contentType),
                                             new Header(MEMENTO_DATETIME_HEADER, mementoDateTime));
 
@@ -172,16 +181,15 @@ public class AbstractVersioningTest extends AbstractTest {
     }
 
     protected String createMemento(final String originalResourceUri) {
-        final Response response = doGet(originalResourceUri);
-        final URI timeMapURI = getTimeMapUri(response);
+        final URI timeMapURI = getTimeMapUri(originalResourceUri);
         if (hasHeaderValueInMultiValueHeader("Allow", "Post", doGet(timeMapURI.toString()))) {
             //if POST allowed (client-managed versioning)
             return getLocation(doPost(timeMapURI.toString()));
         } else {
             // otherwise create a memento by altering the original resource and retrieving the most recent memento
             //if ldp-rs
-            if (getLinksOfRelType(response, "type")
-                .anyMatch(link -> link.equals(Link.valueOf(RDF_SOURCE_LINK_HEADER)))) {
+            if (discoverLinks(originalResourceUri, "type")
+                .anyMatch(type -> type.equals(Link.valueOf(RDF_SOURCE_LINK_HEADER).getUri()))) {
                 final String body = "PREFIX rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#>\n" +
                                     "PREFIX pcdm: <http://pcdm.org/models#>\n" +
                                     "INSERT  {\n" +
@@ -196,7 +204,7 @@ public class AbstractVersioningTest extends AbstractTest {
             }
 
             final String now = RFC_1123_DATE_TIME.withZone(ZoneId.of("UTC")).format(now());
-            final String timeGate = getTimeGateUri(response).toString();
+            final String timeGate = discoverLinks(originalResourceUri, "timegate").findFirst().get().toString();
             //get the most recent memento
             final Response timeGateResponse = doGetUnverified(timeGate, new Header("Accept-Datetime", now));
             timeGateResponse.then().statusCode(302);
@@ -24,6 +24,7 @@ import org.testng.annotations.Test;
 
 import static org.fcrepo.spec.testsuite.Constants.CONTAINER_LINK_HEADER;
 import static org.fcrepo.spec.testsuite.Constants.TIME_MAP_LINK_HEADER;
+import static org.fcrepo.spec.testsuite.FixturePool.Fixture.VERSIONED_RESOURCE;
 import static org.testng.AssertJUnit.assertNotNull;
 
 /**
@@ -43,7 +44,7 @@ public class LdpcvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldpcv-get",
                                         ps);
 
-        final String timeMap = createVersionedResourceAndGetTimeMapURL(uri, info);
+        final String timeMap = leaseVersionedResourceAndGetTimeMapURL();
         //perform a GET and verify that it is successful.
         doGet(timeMap);
     }
@@ -58,15 +59,15 @@ public class LdpcvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldpcv-get",
                                         ps);
 
-        final String timeMap = createVersionedResourceAndGetTimeMapURL(uri, info);
+        final String timeMap = leaseVersionedResourceAndGetTimeMapURL();
         //perform a GET and verify it has the proper header.
         confirmPresenceOfLinkValue(TIME_MAP_LINK_HEADER, doGet(timeMap));
     }
 
-    private String createVersionedResourceAndGetTimeMapURL(final String uri, final TestInfo info) {
-        final Response resource = createVersionedResource(uri, info);
+    private String leaseVersionedResourceAndGetTimeMapURL() {
+        final String resource = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         //get the timemap
-        return getTimeMapUri(doGet(getLocation(resource))).toString();
+        return getTimeMapUri(resource).toString();
     }
 
     /**
@@ -80,7 +81,7 @@ public class LdpcvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldpcv-get",
                                         ps);
 
-        final String timeMap = createVersionedResourceAndGetTimeMapURL(uri, info);
+        final String timeMap = leaseVersionedResourceAndGetTimeMapURL();
         //ensure timemap can be retrieved with the Accept: application/link-format
         doGet(timeMap, new Header("Accept", "application/link-format"));
     }
@@ -95,7 +96,7 @@ public class LdpcvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldpcv-get",
                                         ps);
 
-        final String timeMap = createVersionedResourceAndGetTimeMapURL(uri, info);
+        final String timeMap = leaseVersionedResourceAndGetTimeMapURL();
         //perform a GET and verify it has the proper header.
         final Response timeMapResponse = doGet(timeMap);
         confirmPresenceOfHeaderValueInMultiValueHeader("Allow", "GET", timeMapResponse);
@@ -112,7 +113,7 @@ public class LdpcvHttpGet extends AbstractVersioningTest {
                                         "If an LDPCv supports POST, then it must include the Accept-Post header",
                                         SPEC_BASE_URL + "#ldpcv-get",
                                         ps);
-        final String timeMap = createVersionedResourceAndGetTimeMapURL(uri, info);
+        final String timeMap = leaseVersionedResourceAndGetTimeMapURL();
         final Response timeMapResponse = doGet(timeMap);
         //check if LDPCv allows "POST"
         if (hasHeaderValueInMultiValueHeader("Allow", "POST", timeMapResponse)) {
@@ -130,7 +131,7 @@ public class LdpcvHttpGet extends AbstractVersioningTest {
                                         "If an LDPCv supports PATCH, then it must include the Accept-Patch header",
                                         SPEC_BASE_URL + "#ldpcv-get",
                                         ps);
-        final String timeMap = createVersionedResourceAndGetTimeMapURL(uri, info);
+        final String timeMap = leaseVersionedResourceAndGetTimeMapURL();
         final Response timeMapResponse = doGet(timeMap);
         //check if LDPCv allows "PATCH"
         if (hasHeaderValueInMultiValueHeader("Allow", "PATCH", timeMapResponse)) {
@@ -152,7 +153,7 @@ public class LdpcvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldpcv-get",
                                         ps);
 
-        final String timeMap = createVersionedResourceAndGetTimeMapURL(uri, info);
+        final String timeMap = leaseVersionedResourceAndGetTimeMapURL();
         //perform a GET and verify it has the proper header.
         final Response timeMapResponse = doGet(timeMap);
         confirmPresenceOfLinkValue(CONTAINER_LINK_HEADER, timeMapResponse);
@@ -29,6 +29,7 @@ import org.testng.SkipException;
 import org.testng.annotations.Test;
 
 import static org.fcrepo.spec.testsuite.Constants.APPLICATION_SPARQL_UPDATE;
+import static org.fcrepo.spec.testsuite.FixturePool.Fixture.VERSIONED_RESOURCE;
 
 /**
  * @author Daniel Bernstein
@@ -45,11 +46,8 @@ public class LdpcvHttpOptions extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldpcv-options",
                                         ps);
 
-        //create ldprv
-        final Response createResponse = createVersionedResource(uri, info);
-
-        //get location of new resource
-        final String resourceUri = getLocation(createResponse);
+        //lease a shared ldprv
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
 
         final URI timeMapURI = getTimeMapUri(response);
@@ -68,11 +66,8 @@ public class LdpcvHttpOptions extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldpcv-options",
                                         ps);
 
-        //create ldprv
-        final Response createResponse = createVersionedResource(uri, info);
-
-        //get location of new resource
-        final String resourceUri = getLocation(createResponse);
+        //lease a shared ldprv
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
 
         final URI timeMapURI = getTimeMapUri(response);
@@ -160,11 +155,8 @@ public class LdpcvHttpOptions extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldpcv-options",
                                         ps);
 
-        //create ldprv
-        final Response createResponse = createVersionedResource(uri, info);
-
-        //get location of new resource
-        final String resourceUri = getLocation(createResponse);
+        //lease a shared ldprv
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
 
         final URI timeMapURI = getTimeMapUri(response);
@@ -183,11 +175,8 @@ public class LdpcvHttpOptions extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldpcv-options",
                                         ps);
 
-        //create ldprv
-        final Response createResponse = createVersionedResource(uri, info);
-
-        //get location of new resource
-        final String resourceUri = getLocation(createResponse);
+        //lease a shared ldprv
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
 
         final URI timeMapURI = getTimeMapUri(response);
@@ -211,11 +200,8 @@ public class LdpcvHttpOptions extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldpcv-options",
                                         ps);
 
-        //create ldprv
-        final Response createResponse = createVersionedResource(uri, info);
-
-        //get location of new resource
-        final String resourceUri = getLocation(createResponse);
+        //lease a shared ldprv
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
 
         final URI timeMapURI = getTimeMapUri(response);
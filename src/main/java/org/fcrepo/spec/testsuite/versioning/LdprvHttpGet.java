@@ -21,6 +21,7 @@ import static java.time.format.DateTimeFormatter.ISO_INSTANT;
 import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
 import static org.fcrepo.spec.testsuite.Constants.ORIGINAL_RESOURCE_LINK_HEADER;
 import static org.fcrepo.spec.testsuite.Constants.TIME_GATE_LINK_HEADER;
+import static org.fcrepo.spec.testsuite.FixturePool.Fixture.VERSIONED_RESOURCE;
 
 import java.net.URI;
 import java.time.Instant;
@@ -50,11 +51,8 @@ public class LdprvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldprv-get",
                                         ps);
 
-        //create ldprv
-        final Response creationResponse = createVersionedResource(uri, info);
-
-        //get location of new resource
-        final String resourceUri = getLocation(creationResponse);
+        //lease a shared ldprv
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
 
         final Response response = doGet(resourceUri);
 
@@ -125,8 +123,7 @@ public class LdprvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldprv-get",
                                         ps);
 
-        final Response createdResponse = createVersionedResource(uri, info);
-        final String resourceUri = getLocation(createdResponse);
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
         final URI original = getOriginalUri(response);
         Assert.assertEquals(resourceUri, original.toString());
@@ -143,8 +140,7 @@ public class LdprvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldprv-get",
                                         ps);
 
-        final Response createdResponse = createVersionedResource(uri, info);
-        final String resourceUri = getLocation(createdResponse);
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
         final URI original = getTimeGateUri(response);
         Assert.assertEquals(resourceUri, original.toString());
@@ -162,8 +158,7 @@ public class LdprvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldprv-get",
                                         ps);
 
-        final Response createdResponse = createVersionedResource(uri, info);
-        final String resourceUri = getLocation(createdResponse);
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
         confirmPresenceOfLinkValue(ORIGINAL_RESOURCE_LINK_HEADER, response);
     }
@@ -180,8 +175,7 @@ public class LdprvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldprv-get",
                                         ps);
 
-        final Response createdResponse = createVersionedResource(uri, info);
-        final String resourceUri = getLocation(createdResponse);
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
         confirmPresenceOfLinkValue(TIME_GATE_LINK_HEADER, response);
     }
@@ -197,8 +191,7 @@ public class LdprvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldprv-get",
                                         ps);
 
-        final Response createdResponse = createVersionedResource(uri, info);
-        final String resourceUri = getLocation(createdResponse);
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
         confirmPresenceOfTimeMapLink(response);
 
@@ -215,8 +208,7 @@ public class LdprvHttpGet extends AbstractVersioningTest {
                                         SPEC_BASE_URL + "#ldprv-get",
                                         ps);
 
-        final Response createdResponse = createVersionedResource(uri, info);
-        final String resourceUri = getLocation(createdResponse);
+        final String resourceUri = leaseReadOnlyFixture(VERSIONED_RESOURCE);
         final Response response = doGet(resourceUri);
 
         Assert.assertEquals(getHeaders(response, "Vary").filter(x -> {